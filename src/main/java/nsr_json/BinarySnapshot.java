@@ -0,0 +1,425 @@
+package nsr_json;
+
+import exception.ParsingException;
+
+import java.io.IOException;
+import java.math.BigInteger;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.file.*;
+import java.util.*;
+import java.util.zip.CRC32C;
+
+import static java.nio.charset.StandardCharsets.ISO_8859_1;
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+/**
+ * A binary copy of a parsed document that is stored next to its JSON file and read without parsing.
+ * <p>
+ * The header keeps the size, the modification time and the checksum of the JSON file, so the snapshot is used
+ * only while the file is not changed. All the keys are stored once in a dictionary sorted by their UTF-8 bytes,
+ * and every object or array has an offset table that points to its values,
+ * so a value can be found without reading the values before it, see {@link SnapshotDocument}.
+ * <pre>
+ * header:     magic, version, source size, source modified time, source checksum, key count, root offset
+ * dictionary: key offsets, then every key as a length prefixed UTF-8 string
+ * object:     OBJECT, count, (key id, value offset) sorted by the key id, then the values
+ * array:      ARRAY, count, value offsets, then the values
+ * </pre>
+ */
+class BinarySnapshot {
+    protected static final String EXTENSION = ".snapshot";
+
+    private static final int MAGIC = 0x4E53524A;
+    private static final int VERSION = 2;
+    private static final int HEADER_SIZE = 40;
+
+    protected static final byte NULL = 0;
+    protected static final byte FALSE = 1;
+    protected static final byte TRUE = 2;
+    protected static final byte LONG = 3;
+    protected static final byte DOUBLE = 4;
+    protected static final byte BIG_INTEGER = 5;
+    protected static final byte NUMBER = 6;
+    protected static final byte STRING = 7;
+    protected static final byte OBJECT = 8;
+    protected static final byte ARRAY = 9;
+
+    private final ByteBuffer bytes;
+    private final String[] keys;
+
+    private BinarySnapshot(ByteBuffer bytes) {
+        this.bytes = bytes;
+        this.keys = readKeys();
+    }
+
+    /**
+     * The path of the snapshot of a JSON file
+     *
+     * @param filePath the path of the JSON file
+     * @return the path of the snapshot next to it
+     */
+    protected static Path pathOf(String filePath) {
+        return Path.of(filePath + EXTENSION);
+    }
+
+    /**
+     * The checksum of the content of a JSON file that is stored in the snapshot header
+     *
+     * @param bytes the content of the JSON file
+     * @return the CRC32C checksum
+     */
+    protected static long checksum(ByteBuffer bytes) {
+        var crc = new CRC32C();
+        crc.update(bytes.duplicate());
+        return crc.getValue();
+    }
+
+    /**
+     * Checks if a snapshot was written from a JSON file with the same size, modification time and checksum
+     *
+     * @param snapshot the content of the snapshot
+     * @param size     the size of the JSON file
+     * @param modified the modification time of the JSON file in milliseconds
+     * @param checksum the checksum of the JSON file
+     * @return true if the snapshot can be used instead of parsing the file
+     */
+    protected static boolean isFresh(ByteBuffer snapshot, long size, long modified, long checksum) {
+        return snapshot.limit() >= HEADER_SIZE &&
+                snapshot.getInt(0) == MAGIC &&
+                snapshot.getInt(4) == VERSION &&
+                snapshot.getLong(8) == size &&
+                snapshot.getLong(16) == modified &&
+                snapshot.getLong(24) == checksum;
+    }
+
+    /**
+     * Checks if a snapshot was written from a JSON file with the same size and modification time, without reading
+     * the file. It's used to map the snapshot in place, where a full checksum would read the file on every load
+     *
+     * @param snapshot the content of the snapshot
+     * @param size     the size of the JSON file
+     * @param modified the modification time of the JSON file in milliseconds
+     * @return true if the snapshot can be used instead of parsing the file
+     */
+    protected static boolean isFresh(ByteBuffer snapshot, long size, long modified) {
+        return snapshot.limit() >= HEADER_SIZE &&
+                snapshot.getInt(0) == MAGIC &&
+                snapshot.getInt(4) == VERSION &&
+                snapshot.getLong(8) == size &&
+                snapshot.getLong(16) == modified;
+    }
+
+    /**
+     * Reads the whole document from a snapshot
+     *
+     * @param snapshot the content of the snapshot
+     * @param options  the compact option to build the objects and arrays
+     * @return the document as {@link Map}, {@link List} or a value
+     */
+    protected static Object read(ByteBuffer snapshot, JSONLoadOptions options) {
+        try {
+            var reader = new BinarySnapshot(snapshot);
+            return reader.readValue(rootOffset(snapshot), options.isCompact() ? new CompactNodes() : null, 0);
+        } catch (BufferUnderflowException | IndexOutOfBoundsException e) {
+            throw new ParsingException("The snapshot is corrupted", e);
+        }
+    }
+
+    /**
+     * Writes the snapshot of a document to a temporary file and moves it to the path,
+     * so the readers never see a partially written snapshot
+     *
+     * @param data     the parsed document
+     * @param size     the size of the JSON file
+     * @param modified the modification time of the JSON file in milliseconds
+     * @param checksum the checksum of the JSON file
+     * @param path     the path of the snapshot
+     */
+    protected static void write(Object data, long size, long modified, long checksum, Path path) throws IOException {
+        var writer = new Writer(data);
+        writer.header(size, modified, checksum);
+
+        var directory = path.toAbsolutePath().getParent();
+        var temp = Files.createTempFile(directory, path.getFileName().toString(), ".tmp");
+        try {
+            Files.write(temp, writer.toByteArray());
+            try {
+                Files.move(temp, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            } catch (AtomicMoveNotSupportedException e) {
+                Files.move(temp, path, StandardCopyOption.REPLACE_EXISTING);
+            }
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+    }
+
+    /**
+     * Fails if the content is not a snapshot of the current format
+     *
+     * @param snapshot the content of the snapshot
+     */
+    protected static void checkFormat(ByteBuffer snapshot) {
+        if (snapshot.limit() < HEADER_SIZE || snapshot.getInt(0) != MAGIC || snapshot.getInt(4) != VERSION)
+            throw new ParsingException("The snapshot has an unsupported format");
+    }
+
+    /**
+     * @param snapshot the content of the snapshot
+     * @return the number of the keys in the dictionary
+     */
+    protected static int keyCount(ByteBuffer snapshot) {
+        return snapshot.getInt(32);
+    }
+
+    /**
+     * @param snapshot the content of the snapshot
+     * @param id       the id of a key
+     * @return the offset of the length prefixed key
+     */
+    protected static int keyOffset(ByteBuffer snapshot, int id) {
+        return snapshot.getInt(HEADER_SIZE + id * 4);
+    }
+
+    /**
+     * @param snapshot the content of the snapshot
+     * @return the offset of the root value
+     */
+    protected static int rootOffset(ByteBuffer snapshot) {
+        return snapshot.getInt(36);
+    }
+
+    /**
+     * Reads a length prefixed UTF-8 string
+     *
+     * @param snapshot the content of the snapshot
+     * @param offset   the offset of the length
+     * @return the decoded string
+     */
+    protected static String readString(ByteBuffer snapshot, int offset) {
+        var length = snapshot.getInt(offset);
+        var utf8 = new byte[length];
+        snapshot.get(offset + 4, utf8);
+        return new String(utf8, UTF_8);
+    }
+
+    /**
+     * Reads a value that is not an object or an array
+     *
+     * @param snapshot the content of the snapshot
+     * @param offset   the offset of the value tag
+     * @return the value
+     */
+    protected static Object readScalar(ByteBuffer snapshot, int offset) {
+        return switch (snapshot.get(offset)) {
+            case NULL -> null;
+            case FALSE -> Boolean.FALSE;
+            case TRUE -> Boolean.TRUE;
+            case LONG -> snapshot.getLong(offset + 1);
+            case DOUBLE -> snapshot.getDouble(offset + 1);
+            case BIG_INTEGER -> new BigInteger(readString(snapshot, offset + 1));
+            case NUMBER -> {
+                var text = readString(snapshot, offset + 1).getBytes(ISO_8859_1);
+                yield JSONNumber.of(text, text.length);
+            }
+            case STRING -> readString(snapshot, offset + 1);
+            default -> throw new ParsingException("The snapshot is corrupted at position [" + offset + "]");
+        };
+    }
+
+    private String[] readKeys() {
+        checkFormat(bytes);
+
+        var keys = new String[keyCount(bytes)];
+        for (var i = 0; i < keys.length; i++)
+            keys[i] = readString(bytes, keyOffset(bytes, i));
+        return keys;
+    }
+
+    private Object readValue(int offset, CompactNodes nodes, int depth) {
+        if (depth > 1000)
+            throw new ParsingException("The snapshot is corrupted");
+
+        return switch (bytes.get(offset)) {
+            case OBJECT -> readObject(offset, nodes, depth);
+            case ARRAY -> readArray(offset, nodes, depth);
+            default -> readScalar(bytes, offset);
+        };
+    }
+
+    private Map<String, Object> readObject(int offset, CompactNodes nodes, int depth) {
+        var count = bytes.getInt(offset + 1);
+        var table = offset + 5;
+
+        if (nodes != null) {
+            var mark = nodes.mark();
+            for (var i = 0; i < count; i++) {
+                nodes.push(keys[bytes.getInt(table + i * 8)]);
+                nodes.push(readValue(bytes.getInt(table + i * 8 + 4), nodes, depth + 1));
+            }
+            return nodes.buildObject(mark);
+        }
+
+        var map = new HashMap<String, Object>(Math.max(16, (int) (count / 0.75f) + 1));
+        for (var i = 0; i < count; i++)
+            map.put(keys[bytes.getInt(table + i * 8)], readValue(bytes.getInt(table + i * 8 + 4), null, depth + 1));
+        return map;
+    }
+
+    private List<Object> readArray(int offset, CompactNodes nodes, int depth) {
+        var count = bytes.getInt(offset + 1);
+        var table = offset + 5;
+
+        if (nodes != null) {
+            var mark = nodes.mark();
+            for (var i = 0; i < count; i++)
+                nodes.push(readValue(bytes.getInt(table + i * 4), nodes, depth + 1));
+            return nodes.buildArray(mark);
+        }
+
+        var list = new ArrayList<>(count);
+        for (var i = 0; i < count; i++)
+            list.add(readValue(bytes.getInt(table + i * 4), null, depth + 1));
+        return list;
+    }
+
+    private String readString(int offset) {
+        return readString(bytes, offset);
+    }
+
+    /**
+     * Encodes a document into the snapshot format
+     */
+    private static class Writer {
+        private ByteBuffer out = ByteBuffer.allocate(1 << 16);
+        private final Map<String, Integer> keyIds = new HashMap<>();
+
+        private Writer(Object data) {
+            var encodedKeys = new HashMap<String, byte[]>();
+            collectKeys(data, encodedKeys);
+
+            var keys = new ArrayList<>(encodedKeys.keySet());
+            keys.sort((first, second) -> Arrays.compareUnsigned(encodedKeys.get(first), encodedKeys.get(second)));
+
+            out.position(HEADER_SIZE);
+            var table = reserve(keys.size() * 4);
+            for (var id = 0; id < keys.size(); id++) {
+                var utf8 = encodedKeys.get(keys.get(id));
+                keyIds.put(keys.get(id), id);
+                out.putInt(table + id * 4, out.position());
+                ensure(4 + utf8.length);
+                out.putInt(utf8.length).put(utf8);
+            }
+
+            var root = writeValue(data);
+            out.putInt(32, keys.size());
+            out.putInt(36, root);
+        }
+
+        private void header(long size, long modified, long checksum) {
+            out.putInt(0, MAGIC);
+            out.putInt(4, VERSION);
+            out.putLong(8, size);
+            out.putLong(16, modified);
+            out.putLong(24, checksum);
+        }
+
+        private byte[] toByteArray() {
+            return Arrays.copyOf(out.array(), out.position());
+        }
+
+        private static void collectKeys(Object value, Map<String, byte[]> keys) {
+            if (value instanceof Map<?, ?> map)
+                map.forEach((key, child) -> {
+                    keys.computeIfAbsent((String) key, k -> k.getBytes(UTF_8));
+                    collectKeys(child, keys);
+                });
+            else if (value instanceof List<?> list)
+                list.forEach(child -> collectKeys(child, keys));
+        }
+
+        private int writeValue(Object value) {
+            ensure(9);
+            var offset = out.position();
+
+            if (value == null)
+                out.put(NULL);
+            else if (value instanceof Boolean bool)
+                out.put(bool ? TRUE : FALSE);
+            else if (value instanceof Long number)
+                out.put(LONG).putLong(number);
+            else if (value instanceof Double number)
+                out.put(DOUBLE).putDouble(number);
+            else if (value instanceof BigInteger number) {
+                out.put(BIG_INTEGER);
+                writeString(number.toString());
+            } else if (value instanceof JSONNumber number) {
+                out.put(NUMBER);
+                writeString(number.toString());
+            } else if (value instanceof String string) {
+                out.put(STRING);
+                writeString(string);
+            } else if (value instanceof Map<?, ?> map)
+                writeObject(map);
+            else if (value instanceof List<?> list)
+                writeArray(list);
+            else
+                throw new ParsingException("Can't write [" + value.getClass().getName() + "] to a snapshot");
+
+            return offset;
+        }
+
+        private void writeObject(Map<?, ?> map) {
+            var entries = new ArrayList<Map.Entry<?, ?>>(map.entrySet());
+            entries.sort(Comparator.comparing(entry -> keyIds.get((String) entry.getKey())));
+
+            out.put(OBJECT).putInt(entries.size());
+            var table = reserve(entries.size() * 8);
+            for (var i = 0; i < entries.size(); i++) {
+                var entry = entries.get(i);
+                out.putInt(table + i * 8, keyIds.get((String) entry.getKey()));
+                // The value may grow the buffer, so the offset is written to the new one
+                var offset = writeValue(entry.getValue());
+                out.putInt(table + i * 8 + 4, offset);
+            }
+        }
+
+        private void writeArray(List<?> list) {
+            out.put(ARRAY).putInt(list.size());
+            var table = reserve(list.size() * 4);
+            for (var i = 0; i < list.size(); i++) {
+                var offset = writeValue(list.get(i));
+                out.putInt(table + i * 4, offset);
+            }
+        }
+
+        private void writeString(String value) {
+            var utf8 = value.getBytes(UTF_8);
+            ensure(4 + utf8.length);
+            out.putInt(utf8.length).put(utf8);
+        }
+
+        // Skips the bytes of an offset table to be filled after its values are written
+        private int reserve(int length) {
+            ensure(length);
+            var position = out.position();
+            out.position(position + length);
+            return position;
+        }
+
+        private void ensure(int length) {
+            if (out.remaining() >= length)
+                return;
+
+            var capacity = (long) out.capacity();
+            while (capacity - out.position() < length)
+                capacity *= 2;
+            if (capacity > Integer.MAX_VALUE)
+                throw new ParsingException("The snapshot can't be larger than 2 GB");
+
+            var bigger = ByteBuffer.allocate((int) capacity);
+            bigger.put(out.flip());
+            out = bigger;
+        }
+    }
+}
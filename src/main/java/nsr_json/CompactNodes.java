@@ -0,0 +1,338 @@
+package nsr_json;
+
+import java.util.*;
+import java.util.function.BiConsumer;
+import java.util.function.Consumer;
+
+/**
+ * Builds read only objects and arrays that take less memory than {@link HashMap} and {@link ArrayList}.
+ * <p>
+ * The parsed values are pushed into a single stack and every object or array is copied into exactly sized arrays
+ * when it ends, the objects keep their keys and values in two arrays with a small hash index for the larger ones,
+ * and the arrays of integers or decimals only are kept as primitive arrays.
+ * The keys and the values can be {@link JSONString} slices, they are turned into {@link String} when they are read,
+ * and the sliced keys are compared with the looked up keys byte by byte.
+ */
+class CompactNodes {
+    private Object[] stack = new Object[64];
+    private int top;
+
+    /**
+     * @return the position of the stack to build the next object or array from
+     */
+    protected int mark() {
+        return top;
+    }
+
+    /**
+     * Adds a key or a value to the current object or array
+     *
+     * @param value the key or the value
+     */
+    protected void push(Object value) {
+        if (top == stack.length)
+            stack = Arrays.copyOf(stack, top * 2);
+        stack[top++] = value;
+    }
+
+    /**
+     * Builds an object from the keys and values pushed after the mark and removes them from the stack
+     *
+     * @param mark the position of the first key
+     * @return the read only object
+     */
+    protected Map<String, Object> buildObject(int mark) {
+        var map = CompactMap.of(stack, mark, top);
+        pop(mark);
+        return map;
+    }
+
+    /**
+     * Builds an array from the values pushed after the mark and removes them from the stack
+     *
+     * @param mark the position of the first value
+     * @return the read only array
+     */
+    protected List<Object> buildArray(int mark) {
+        var list = list(stack, mark, top);
+        pop(mark);
+        return list;
+    }
+
+    /**
+     * Builds a read only array from a range of values, it's backed by a primitive array if all of them are
+     * {@link Long} or all of them are {@link Double}
+     *
+     * @param values the values
+     * @param from   the index of the first value
+     * @param to     the index after the last value
+     * @return the read only array
+     */
+    protected static List<Object> list(Object[] values, int from, int to) {
+        var size = to - from;
+        if (size == 0)
+            return ObjectList.EMPTY;
+
+        var longs = true;
+        var doubles = true;
+        for (var i = from; i < to && (longs || doubles); i++) {
+            longs &= values[i] instanceof Long;
+            doubles &= values[i] instanceof Double;
+        }
+
+        if (longs) {
+            var array = new long[size];
+            for (var i = 0; i < size; i++)
+                array[i] = (Long) values[from + i];
+            return new LongList(array);
+        }
+        if (doubles) {
+            var array = new double[size];
+            for (var i = 0; i < size; i++)
+                array[i] = (Double) values[from + i];
+            return new DoubleList(array);
+        }
+        return new ObjectList(Arrays.copyOfRange(values, from, to));
+    }
+
+    /**
+     * Passes the keys and the values of a compact object or array as they are kept, the string slices are not decoded
+     *
+     * @param node     any node of the document
+     * @param children receives the keys and the values of the node
+     * @return the estimated size of the node itself in bytes, or -1 if it's not a compact node
+     */
+    protected static long visit(Object node, Consumer<Object> children) {
+        if (node instanceof CompactMap map) {
+            Arrays.asList(map.keys).forEach(children);
+            Arrays.asList(map.values).forEach(children);
+            return 24 + 2 * (16 + 4L * map.keys.length) + (map.table == null ? 0 : 16 + 4L * map.table.length);
+        }
+        if (node instanceof ObjectList list) {
+            Arrays.asList(list.values).forEach(children);
+            return 16 + 16 + 4L * list.values.length;
+        }
+        if (node instanceof LongList list)
+            return 16 + 16 + 8L * list.values.length;
+        if (node instanceof DoubleList list)
+            return 16 + 16 + 8L * list.values.length;
+        return -1;
+    }
+
+    private void pop(int mark) {
+        Arrays.fill(stack, mark, top, null);
+        top = mark;
+    }
+
+    /**
+     * A read only object that keeps its keys and values in two arrays in the order of the document.
+     * Up to 8 keys are searched one by one, the larger objects have an open addressing index.
+     * The keys are {@link String} or {@link JSONString}, the slices are decoded only when the keys are iterated.
+     */
+    private static final class CompactMap extends AbstractMap<String, Object> {
+        private static final int MAX_LINEAR_SIZE = 8;
+
+        private final Object[] keys;
+        private final Object[] values;
+        // The index of every key plus one, zero is an empty slot
+        private final int[] table;
+
+        private CompactMap(Object[] keys, Object[] values, int[] table) {
+            this.keys = keys;
+            this.values = values;
+            this.table = table;
+        }
+
+        // Builds the object from alternating keys and values, the last value of a repeated key is kept
+        private static CompactMap of(Object[] pairs, int from, int to) {
+            var capacity = (to - from) / 2;
+            var keys = new Object[capacity];
+            var values = new Object[capacity];
+            var table = capacity > MAX_LINEAR_SIZE ? new int[Integer.highestOneBit(capacity * 2 - 1) * 2] : null;
+            var size = 0;
+
+            for (var i = from; i < to; i += 2) {
+                var key = pairs[i];
+                var index = table == null ? linearIndexOf(keys, size, key) : hashIndexOf(keys, table, key);
+
+                if (index >= 0)
+                    values[index] = pairs[i + 1];
+                else {
+                    keys[size] = key;
+                    values[size] = pairs[i + 1];
+                    if (table != null)
+                        table[-index - 1] = size + 1;
+                    size++;
+                }
+            }
+
+            if (size < capacity) {
+                keys = Arrays.copyOf(keys, size);
+                values = Arrays.copyOf(values, size);
+            }
+            return new CompactMap(keys, values, table);
+        }
+
+        private static int linearIndexOf(Object[] keys, int size, Object key) {
+            for (var i = 0; i < size; i++)
+                if (keyEquals(keys[i], key))
+                    return i;
+            return -1;
+        }
+
+        // Returns the index of the key or (-slot - 1) of the empty slot where it should be added
+        private static int hashIndexOf(Object[] keys, int[] table, Object key) {
+            var mask = table.length - 1;
+            var hash = key.hashCode();
+            var slot = (hash ^ hash >>> 16) & mask;
+
+            while (table[slot] != 0) {
+                var index = table[slot] - 1;
+                if (keyEquals(keys[index], key))
+                    return index;
+                slot = (slot + 1) & mask;
+            }
+            return -slot - 1;
+        }
+
+        // The slices are compared byte by byte with the other slices and the looked up strings
+        private static boolean keyEquals(Object stored, Object key) {
+            if (stored instanceof JSONString slice)
+                return key instanceof String string ? slice.contentEquals(string) : slice.equals(key);
+            return key instanceof JSONString slice ? slice.contentEquals((String) stored) : stored.equals(key);
+        }
+
+        private String keyAt(int index) {
+            return JSONString.materialize(keys[index]).toString();
+        }
+
+        private int indexOf(Object key) {
+            if (!(key instanceof String))
+                return -1;
+            if (table == null)
+                return linearIndexOf(keys, keys.length, key);
+
+            var index = hashIndexOf(keys, table, key);
+            return index >= 0 ? index : -1;
+        }
+
+        @Override
+        public Object get(Object key) {
+            var index = indexOf(key);
+            return index >= 0 ? JSONString.materialize(values[index]) : null;
+        }
+
+        @Override
+        public boolean containsKey(Object key) {
+            return indexOf(key) >= 0;
+        }
+
+        @Override
+        public int size() {
+            return keys.length;
+        }
+
+        @Override
+        public void forEach(BiConsumer<? super String, ? super Object> action) {
+            for (var i = 0; i < keys.length; i++)
+                action.accept(keyAt(i), JSONString.materialize(values[i]));
+        }
+
+        @Override
+        public Set<Entry<String, Object>> entrySet() {
+            return new AbstractSet<>() {
+                @Override
+                public Iterator<Entry<String, Object>> iterator() {
+                    return new Iterator<>() {
+                        private int index;
+
+                        @Override
+                        public boolean hasNext() {
+                            return index < keys.length;
+                        }
+
+                        @Override
+                        public Entry<String, Object> next() {
+                            if (index >= keys.length)
+                                throw new NoSuchElementException();
+
+                            var entry = new SimpleImmutableEntry<>(keyAt(index), JSONString.materialize(values[index]));
+                            index++;
+                            return entry;
+                        }
+                    };
+                }
+
+                @Override
+                public int size() {
+                    return keys.length;
+                }
+            };
+        }
+    }
+
+    /**
+     * A read only array of any values
+     */
+    private static final class ObjectList extends AbstractList<Object> implements RandomAccess {
+        private static final ObjectList EMPTY = new ObjectList(new Object[0]);
+
+        private final Object[] values;
+
+        private ObjectList(Object[] values) {
+            this.values = values;
+        }
+
+        @Override
+        public Object get(int index) {
+            return JSONString.materialize(values[index]);
+        }
+
+        @Override
+        public int size() {
+            return values.length;
+        }
+    }
+
+    /**
+     * A read only array of integers, the items are boxed when they are read
+     */
+    private static final class LongList extends AbstractList<Object> implements RandomAccess {
+        private final long[] values;
+
+        private LongList(long[] values) {
+            this.values = values;
+        }
+
+        @Override
+        public Object get(int index) {
+            return values[index];
+        }
+
+        @Override
+        public int size() {
+            return values.length;
+        }
+    }
+
+    /**
+     * A read only array of decimals, the items are boxed when they are read
+     */
+    private static final class DoubleList extends AbstractList<Object> implements RandomAccess {
+        private final double[] values;
+
+        private DoubleList(double[] values) {
+            this.values = values;
+        }
+
+        @Override
+        public Object get(int index) {
+            return values[index];
+        }
+
+        @Override
+        public int size() {
+            return values.length;
+        }
+    }
+}
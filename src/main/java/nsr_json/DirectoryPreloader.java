@@ -0,0 +1,86 @@
+package nsr_json;
+
+import exception.JSONFileException;
+
+import java.io.IOException;
+import java.nio.file.FileSystems;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+import java.util.TreeMap;
+
+/**
+ * Loads all the matched JSON files of a directory into the loader cache at once.
+ * <p>
+ * The files are loaded concurrently on all the cores, so the warm-up can happen once at the startup instead of
+ * loading every file on its first read. A file that fails to load doesn't stop the others.
+ */
+class DirectoryPreloader {
+
+    private DirectoryPreloader() {
+    }
+
+    /**
+     * Loads the matched files of a directory
+     *
+     * @param directory the relative path of the directory
+     * @param glob      the pattern of the files, it's matched with the path relative to the directory or the file name
+     * @param recursive true to include the subdirectories
+     * @param options   how to load the files that are not loaded before
+     * @return the loaded files and the failures
+     */
+    protected static PreloadSummary preload(String directory, String glob, boolean recursive, JSONLoadOptions options) {
+        if (directory == null || directory.isBlank())
+            throw new IllegalArgumentException("Directory path can't be null or empty");
+        if (glob == null || glob.isBlank())
+            throw new IllegalArgumentException("File pattern can't be null or empty");
+        if (options == null)
+            throw new IllegalArgumentException("Load options can't be null");
+
+        var start = System.nanoTime();
+        var files = findFiles(Path.of(directory), glob, recursive);
+
+        var loaded = new TreeMap<String, Duration>();
+        var failed = new TreeMap<String, Exception>();
+        files.parallelStream()
+                .map(file -> load(file, options))
+                .forEachOrdered(result -> {
+                    if (result.error() == null)
+                        loaded.put(result.path(), result.time());
+                    else
+                        failed.put(result.path(), result.error());
+                });
+
+        return new PreloadSummary(loaded, failed, Duration.ofNanos(System.nanoTime() - start));
+    }
+
+    private static List<String> findFiles(Path directory, String glob, boolean recursive) {
+        var matcher = FileSystems.getDefault().getPathMatcher("glob:" + glob);
+
+        try (var paths = Files.walk(directory, recursive ? Integer.MAX_VALUE : 1)) {
+            return paths
+                    .filter(Files::isRegularFile)
+                    .filter(path -> matcher.matches(directory.relativize(path)) ||
+                            matcher.matches(path.getFileName()))
+                    .map(Path::toString)
+                    .sorted()
+                    .toList();
+        } catch (IOException | RuntimeException e) {
+            throw new JSONFileException("Can't read this directory [" + directory + "]", e);
+        }
+    }
+
+    private static Result load(String path, JSONLoadOptions options) {
+        var start = System.nanoTime();
+        try {
+            JSONFileLoader.getInstance(path, options);
+            return new Result(path, Duration.ofNanos(System.nanoTime() - start), null);
+        } catch (RuntimeException e) {
+            return new Result(path, Duration.ofNanos(System.nanoTime() - start), e);
+        }
+    }
+
+    private record Result(String path, Duration time, Exception error) {
+    }
+}
@@ -0,0 +1,80 @@
+package nsr_json;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.util.*;
+
+/**
+ * Estimates how much heap a loaded document retains, assuming a 64-bit JVM with compressed pointers.
+ * <p>
+ * The tree is walked once and every node is weighed by the layout of its class, it's an approximation
+ * that is good enough to compare the documents with each other, not an exact measure.
+ */
+class DocumentWeigher {
+    private static final int ARRAY_HEADER = 16;
+    private static final int REFERENCE = 4;
+
+    private DocumentWeigher() {
+    }
+
+    /**
+     * Weighs a document
+     *
+     * @param data the root of the document
+     * @return the estimated retained bytes of the document
+     */
+    protected static long weigh(Object data) {
+        var pending = new ArrayDeque<>();
+        var weight = 0L;
+        if (data != null)
+            pending.push(data);
+
+        while (!pending.isEmpty())
+            weight += weighNode(pending.pop(), pending);
+
+        return weight;
+    }
+
+    // Returns the size of a node itself and adds its children to the pending nodes
+    private static long weighNode(Object node, Deque<Object> pending) {
+        var compactSize = CompactNodes.visit(node, child -> push(pending, child));
+        if (compactSize >= 0)
+            return compactSize;
+
+        if (node instanceof Map<?, ?> map) {
+            map.forEach((key, value) -> {
+                push(pending, key);
+                push(pending, value);
+            });
+            // The map, its table that is kept below 3/4 full and a node of 32 bytes for every entry
+            var table = Integer.highestOneBit(Math.max(map.size() * 4 / 3, 1) * 2 - 1);
+            return 48 + ARRAY_HEADER + (long) REFERENCE * table + 32L * map.size();
+        }
+        if (node instanceof Collection<?> collection) {
+            collection.forEach(child -> push(pending, child));
+            return 24 + ARRAY_HEADER + (long) REFERENCE * collection.size();
+        }
+        if (node instanceof String string)
+            return 24 + align(ARRAY_HEADER + string.length());
+        if (node instanceof JSONString)
+            return 32;
+        if (node instanceof Long || node instanceof Double || node instanceof Integer)
+            return 16;
+        // The packed numbers have no array, the longer ones keep their characters
+        if (node instanceof JSONNumber number)
+            return 24 + (number.textLength() == 0 ? 0 : align(ARRAY_HEADER + number.textLength()));
+        if (node instanceof BigInteger || node instanceof BigDecimal)
+            return 64;
+        // The booleans are shared constants
+        return 0;
+    }
+
+    private static void push(Deque<Object> pending, Object child) {
+        if (child != null)
+            pending.push(child);
+    }
+
+    private static long align(long size) {
+        return (size + 7) & ~7L;
+    }
+}
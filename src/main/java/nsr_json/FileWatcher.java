@@ -0,0 +1,149 @@
+package nsr_json;
+
+import exception.JSONFileException;
+
+import java.io.IOException;
+import java.lang.ref.WeakReference;
+import java.nio.file.*;
+import java.util.Map;
+import java.util.concurrent.*;
+
+import static java.nio.file.StandardWatchEventKinds.*;
+
+/**
+ * Watches the files that are loaded with {@link JSONLoadOptions#setHotReload(boolean)} and loads them again
+ * when they are changed.
+ * <p>
+ * One daemon thread waits for the events of the directories of all the watched files, and the files are loaded
+ * on another daemon thread after no more events come for a short time, so a file that is written in many steps
+ * is loaded once. The loaded files are held weakly, a file is not watched anymore after it's closed or evicted
+ * from the cache.
+ */
+class FileWatcher {
+    private static final long DEBOUNCE_MILLIS = 100;
+    private static FileWatcher instance;
+
+    private final WatchService service;
+    private final ScheduledExecutorService reloader;
+    // The watched files by their absolute paths
+    private final Map<Path, WeakReference<JSONFileLoader>> loaders = new ConcurrentHashMap<>();
+    private final Map<Path, WatchKey> directories = new ConcurrentHashMap<>();
+    private final Map<Path, ScheduledFuture<?>> pendingReloads = new ConcurrentHashMap<>();
+
+    private FileWatcher(WatchService service) {
+        this.service = service;
+        this.reloader = Executors.newSingleThreadScheduledExecutor(task -> daemon(task, "nsr-json-reloader"));
+        daemon(this::watchEvents, "nsr-json-watcher").start();
+    }
+
+    /**
+     * @return the watcher of all the hot reloaded files, it's started on the first use
+     */
+    protected static synchronized FileWatcher shared() {
+        if (instance == null) {
+            try {
+                instance = new FileWatcher(FileSystems.getDefault().newWatchService());
+            } catch (IOException e) {
+                throw new JSONFileException("Can't watch the files for changes", e);
+            }
+        }
+        return instance;
+    }
+
+    private static Thread daemon(Runnable task, String name) {
+        var thread = new Thread(task, name);
+        thread.setDaemon(true);
+        return thread;
+    }
+
+    /**
+     * Starts watching a loaded file, the file is not loaded again if its directory can't be watched
+     *
+     * @param loader the loaded file
+     * @param file   the path of the file
+     */
+    protected synchronized void watch(JSONFileLoader loader, Path file) {
+        var path = file.toAbsolutePath().normalize();
+        var directory = path.getParent();
+
+        if (!directories.containsKey(directory)) {
+            try {
+                directories.put(directory, directory.register(service, ENTRY_CREATE, ENTRY_MODIFY));
+            } catch (IOException ignore) {
+                return;
+            }
+        }
+        loaders.put(path, new WeakReference<>(loader));
+    }
+
+    /**
+     * @param file the path of the file
+     * @return true if the file is watched
+     */
+    protected boolean isWatched(Path file) {
+        return loaders.containsKey(file.toAbsolutePath().normalize());
+    }
+
+    private void watchEvents() {
+        while (true) {
+            WatchKey key;
+            try {
+                key = service.take();
+            } catch (InterruptedException | ClosedWatchServiceException e) {
+                return;
+            }
+
+            var directory = (Path) key.watchable();
+            for (var event : key.pollEvents()) {
+                if (event.kind() == OVERFLOW)
+                    // Some events are lost, so all the files of the directory are loaded again
+                    loaders.keySet().stream()
+                            .filter(path -> path.getParent().equals(directory))
+                            .forEach(this::scheduleReload);
+                else if (loaders.containsKey(directory.resolve((Path) event.context())))
+                    scheduleReload(directory.resolve((Path) event.context()));
+            }
+
+            if (!key.reset())
+                directories.remove(directory, key);
+        }
+    }
+
+    // Loads the file after no more events come for it during the debounce time
+    private void scheduleReload(Path path) {
+        pendingReloads.compute(path, (file, pending) -> {
+            if (pending != null)
+                pending.cancel(false);
+            return reloader.schedule(() -> reload(file), DEBOUNCE_MILLIS, TimeUnit.MILLISECONDS);
+        });
+    }
+
+    private void reload(Path path) {
+        pendingReloads.remove(path);
+        var reference = loaders.get(path);
+        var loader = reference == null ? null : reference.get();
+
+        if (loader == null || !loader.isCached()) {
+            unwatch(path, reference);
+            return;
+        }
+
+        try {
+            loader.reload();
+        } catch (RuntimeException ignore) {
+            // The file may be partly written, the old data is kept until the next change
+        }
+    }
+
+    private synchronized void unwatch(Path path, WeakReference<JSONFileLoader> reference) {
+        if (reference == null || !loaders.remove(path, reference))
+            return;
+
+        var directory = path.getParent();
+        if (loaders.keySet().stream().noneMatch(file -> file.getParent().equals(directory))) {
+            var key = directories.remove(directory);
+            if (key != null)
+                key.cancel();
+        }
+    }
+}
@@ -0,0 +1,77 @@
+package nsr_json;
+
+import javax.management.NotificationEmitter;
+import javax.management.NotificationListener;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryNotificationInfo;
+import java.lang.management.MemoryPoolMXBean;
+import java.lang.management.MemoryType;
+import java.util.Locale;
+
+/**
+ * Releases the least recently read files of the cache when the old generation is still above a threshold
+ * after a garbage collection.
+ * <p>
+ * It uses the collection usage threshold of the heap pools, so it's notified only when the used memory
+ * can't be freed by the collector, not by the garbage that is waiting to be collected.
+ */
+class HeapPressureMonitor {
+    private static boolean listening;
+    private static double currentFraction;
+
+    private HeapPressureMonitor() {
+    }
+
+    /**
+     * Sets the threshold of the old generation pools that support it, and listens to their notifications on the first use
+     *
+     * @param fraction the fraction of the maximum size of every pool, or 0 to stop releasing the files
+     * @return how many pools are monitored
+     */
+    protected static synchronized int update(double fraction) {
+        // The thresholds that are set by others are kept while this monitor is not used
+        if (fraction == 0 && currentFraction == 0)
+            return 0;
+        currentFraction = fraction;
+
+        if (fraction > 0 && !listening) {
+            NotificationListener listener = (notification, handback) -> {
+                if (MemoryNotificationInfo.MEMORY_COLLECTION_THRESHOLD_EXCEEDED.equals(notification.getType()))
+                    JSONFileLoader.releaseUnderPressure();
+            };
+            ((NotificationEmitter) ManagementFactory.getMemoryMXBean()).addNotificationListener(listener, null, null);
+            listening = true;
+        }
+
+        var monitored = 0;
+        for (var pool : ManagementFactory.getMemoryPoolMXBeans()) {
+            if (!isMonitorable(pool))
+                continue;
+
+            // A zero threshold disables the notifications of the pool
+            pool.setCollectionUsageThreshold(fraction > 0 ? (long) (pool.getUsage().getMax() * fraction) : 0);
+            monitored++;
+        }
+        return fraction > 0 ? monitored : 0;
+    }
+
+    protected static boolean isMonitorable(MemoryPoolMXBean pool) {
+        return pool.getType() == MemoryType.HEAP &&
+                !isYoungGeneration(pool.getName()) &&
+                pool.isCollectionUsageThresholdSupported() &&
+                pool.getUsage().getMax() > 0;
+    }
+
+    /**
+     * The young pools are filled and emptied by every minor collection, so they would cross the threshold
+     * without any pressure on the heap. The collectors that have one pool for all the heap are monitored as it is.
+     *
+     * @param poolName the name of the heap pool
+     * @return true if the pool is an eden, a survivor or a young generation space
+     */
+    protected static boolean isYoungGeneration(String poolName) {
+        var name = poolName.toLowerCase(Locale.ROOT);
+        return name.contains("eden") || name.contains("survivor") ||
+                name.contains("young") || name.contains("nursery");
+    }
+}
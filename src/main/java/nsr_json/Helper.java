@@ -4,14 +4,17 @@ import exception.DateFormatException;
 import exception.NotAListException;
 import exception.NotAMapException;
 
+import java.io.*;
 import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Method;
+import java.nio.ByteBuffer;
 import java.text.ParseException;
 import java.text.SimpleDateFormat;
 import java.util.*;
 import java.util.function.Function;
 import java.util.function.Predicate;
 import java.util.regex.Pattern;
+import java.util.zip.GZIPInputStream;
 
 class Helper {
 //    protected final static String KEY_CONTAINS_LIST_REGEX = "^[-a-zA-Z\\d_!@#$%^&*()+=|\\\\/?><\"'{}~]*(\\[\\d+])+$";
@@ -20,6 +23,8 @@ class Helper {
     protected final static String SQUARE_BRACKETS_REGEX = "[\\[\\]]";
     protected final static String KEY_SEPARATOR_REGEX = "\\.";
     protected final static String DEFAULT_DATE_FORMAT = "yyyy-MM-dd HH:mm:ss";
+    protected final static String GZIP_EXTENSION = ".gz";
+    private final static int GZIP_BUFFER_SIZE = 1 << 16;
 
     private Helper() {
     }
@@ -210,13 +215,62 @@ class Helper {
     }
 
     /**
-     * Supports JSON files without extension
+     * Supports JSON files without extension, the gzip compressed files keep their ".gz" extension
      *
      * @param filePath the relative path of the file with or without extension
-     * @return the relative path of the file with extension ".json"
+     * @return the relative path of the file with extension ".json" or ".gz"
      */
     protected static String prepareFilePath(String filePath) {
-        return filePath.matches(".*.json$") ? filePath : filePath + ".json";
+        return filePath.matches(".*.json$") || filePath.endsWith(GZIP_EXTENSION) ? filePath : filePath + ".json";
+    }
+
+    /**
+     * Opens a file for reading, a gzip compressed file is decompressed while it's read without
+     * an intermediate decompressed copy
+     *
+     * @param filePath the path of the file
+     * @return the stream of the content of the file
+     */
+    protected static InputStream openFile(String filePath) throws IOException {
+        var in = new PushbackInputStream(new FileInputStream(filePath), 2);
+        try {
+            var header = in.readNBytes(2);
+            in.unread(header);
+
+            return isGzip(ByteBuffer.wrap(header)) ? new GZIPInputStream(in, GZIP_BUFFER_SIZE) : in;
+        } catch (IOException e) {
+            in.close();
+            throw e;
+        }
+    }
+
+    /**
+     * Checks the magic bytes of the gzip format at the position of a buffer
+     *
+     * @param bytes the content of a file
+     * @return true if the content is gzip compressed
+     */
+    protected static boolean isGzip(ByteBuffer bytes) {
+        var position = bytes.position();
+        return bytes.remaining() >= 2 &&
+                (bytes.get(position) & 0xFF) == (GZIPInputStream.GZIP_MAGIC & 0xFF) &&
+                (bytes.get(position + 1) & 0xFF) == GZIPInputStream.GZIP_MAGIC >>> 8;
+    }
+
+    /**
+     * Decompresses the content of a file if it's gzip compressed
+     *
+     * @param bytes the content of a file backed by an array
+     * @return the decompressed content or the same content if it's not compressed
+     */
+    protected static ByteBuffer decompressIfGzip(ByteBuffer bytes) throws IOException {
+        if (!isGzip(bytes))
+            return bytes;
+
+        var compressed = new ByteArrayInputStream(bytes.array(), bytes.arrayOffset() + bytes.position(), bytes.remaining());
+        try (var in = new GZIPInputStream(compressed, GZIP_BUFFER_SIZE)) {
+            return ByteBuffer.wrap(in.readAllBytes());
+        }
     }
 
     /**
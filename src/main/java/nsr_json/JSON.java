@@ -2,13 +2,27 @@ package nsr_json;
 
 import exception.JSONFileException;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executor;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+
+import static nsr_json.Helper.prepareFilePath;
+
 /**
  * Provide ways to manage JSON files or JSON objects
  */
 public class JSON {
     private String filePath;
+    private JSONLoadOptions options;
     private Object jsonObject;
     private JSONFileLoader jsonFileLoader;
+    private final List<JSONFileLoader.ChangeListener> changeListeners = new CopyOnWriteArrayList<>();
 
     /**
      * To read data from JSON File
@@ -22,6 +36,193 @@ public class JSON {
         return new JSONReader(JSONFileLoader.getInstance(filePath));
     }
 
+    /**
+     * To read data from JSON File
+     * @param filePath the relative path of the file
+     * @param options  how to load the file if it's not loaded before
+     * @return an instance from {@link JSONReader}
+     */
+    public static JSONReader readFile(String filePath, JSONLoadOptions options) {
+        if (filePath == null || filePath.isEmpty() || filePath.isBlank())
+            throw new JSONFileException("File path can't be null or empty");
+        if (options == null)
+            throw new IllegalArgumentException("Load options can't be null");
+
+        return new JSONReader(JSONFileLoader.getInstance(filePath, options));
+    }
+
+    /**
+     * To read data from JSON File without blocking the caller,
+     * the file is loaded on a virtual thread if the JDK has them or on a pool of daemon threads
+     * @param filePath the relative path of the file
+     * @return a future of an instance from {@link JSONReader}
+     */
+    public static CompletableFuture<JSONReader> readFileAsync(String filePath) {
+        return readFileAsync(filePath, new JSONLoadOptions(), null);
+    }
+
+    /**
+     * To read data from JSON File without blocking the caller
+     * @param filePath the relative path of the file
+     * @param executor the executor to load the file on
+     * @return a future of an instance from {@link JSONReader}
+     */
+    public static CompletableFuture<JSONReader> readFileAsync(String filePath, Executor executor) {
+        return readFileAsync(filePath, new JSONLoadOptions(), executor);
+    }
+
+    /**
+     * To read data from JSON File without blocking the caller,
+     * the callers that read a file while it's being loaded share the same load
+     * @param filePath the relative path of the file
+     * @param options  how to load the file if it's not loaded before
+     * @param executor the executor to load the file on, or null to use the default one
+     * @return a future of an instance from {@link JSONReader}
+     */
+    public static CompletableFuture<JSONReader> readFileAsync(String filePath, JSONLoadOptions options, Executor executor) {
+        if (filePath == null || filePath.isEmpty() || filePath.isBlank())
+            return CompletableFuture.failedFuture(new JSONFileException("File path can't be null or empty"));
+        if (options == null)
+            return CompletableFuture.failedFuture(new IllegalArgumentException("Load options can't be null"));
+
+        return JSONFileLoader.getInstanceAsync(filePath, options, executor).thenApply(JSONReader::new);
+    }
+
+    /**
+     * To load all the JSON and gzip compressed JSON files of a directory concurrently, so they are not loaded on their first read
+     * @param directory the relative path of the directory
+     * @return the loaded files with their load time and the files that failed
+     */
+    public static PreloadSummary preload(String directory) {
+        return preload(directory, "*.{json,json.gz}", false, new JSONLoadOptions());
+    }
+
+    /**
+     * To load the matched files of a directory concurrently, so they are not loaded on their first read
+     * @param directory the relative path of the directory
+     * @param glob      the pattern of the files like "*.json" or "configs/**.json"
+     * @param recursive true to include the subdirectories
+     * @return the loaded files with their load time and the files that failed
+     */
+    public static PreloadSummary preload(String directory, String glob, boolean recursive) {
+        return preload(directory, glob, recursive, new JSONLoadOptions());
+    }
+
+    /**
+     * To load the matched files of a directory concurrently, so they are not loaded on their first read
+     * @param directory the relative path of the directory
+     * @param glob      the pattern of the files like "*.json" or "configs/**.json"
+     * @param recursive true to include the subdirectories
+     * @param options   how to load the files that are not loaded before
+     * @return the loaded files with their load time and the files that failed
+     */
+    public static PreloadSummary preload(String directory, String glob, boolean recursive, JSONLoadOptions options) {
+        return DirectoryPreloader.preload(directory, glob, recursive, options);
+    }
+
+    /**
+     * To load a JSON file again and notify the listeners of the changed keys, see {@link #reload()}
+     * @param filePath the relative path of the file
+     * @return the paths of the changed keys like "key1.key2[0]", or "." if the whole file is changed
+     */
+    public static List<String> reload(String filePath) {
+        return new JSON(filePath, new JSONLoadOptions()).reload();
+    }
+
+    /**
+     * To listen to the changes of a key of a JSON file, see {@link #onChange(String, Consumer)}
+     * @param filePath the relative path of the file
+     * @param key      the path of the key like "key1.key2[0]" or "." for the whole file
+     * @param listener the listener that is called with the old and the new values after the new data is used
+     */
+    public static void onChange(String filePath, String key, Consumer<JSONChange> listener) {
+        new JSON(filePath).onChange(key, listener);
+    }
+
+    /**
+     * To walk through a JSON file token by token without loading it into the memory,
+     * a gzip compressed file is decompressed while it's read
+     * @param filePath the relative path of the file
+     * @return an instance from {@link JSONStreamReader} that should be closed after reading
+     */
+    public static JSONStreamReader streamFile(String filePath) {
+        if (filePath == null || filePath.isEmpty() || filePath.isBlank())
+            throw new JSONFileException("File path can't be null or empty");
+
+        var path = prepareFilePath(filePath);
+        try {
+            return new JSONStreamReader(Helper.openFile(path));
+        } catch (IOException e) {
+            throw new JSONFileException("Can't load this file [" + path + "]", e);
+        }
+    }
+
+    /**
+     * To walk through a JSON stream token by token without loading it into the memory
+     * @param in the stream of the JSON document, it's closed when the reader is closed
+     * @return an instance from {@link JSONStreamReader}
+     */
+    public static JSONStreamReader stream(InputStream in) {
+        if (in == null)
+            throw new IllegalArgumentException("Input stream can't be null");
+
+        return new JSONStreamReader(in);
+    }
+
+    /**
+     * To read only some keys from a JSON file in a single pass without loading the whole file.
+     * The subtrees that don't contain any of the keys are skipped without decoding them, a repeated key gets
+     * its first value and the environments and the variables of {@link JSONReader} are not applied.
+     * @param filePath the relative path of the file
+     * @param keys     the wanted keys, each one can be a single key or a series of keys like "key1.key2[0]"
+     * @return the found keys with their values, the keys that don't exist in the file are not included
+     */
+    public static Map<String, Object> extractFile(String filePath, String... keys) {
+        try (var reader = streamFile(filePath)) {
+            return JSONPathExtractor.extract(reader, List.of(keys));
+        }
+    }
+
+    /**
+     * To read only some keys from a JSON stream in a single pass without loading the whole document.
+     * The subtrees that don't contain any of the keys are skipped without decoding them, a repeated key gets
+     * its first value and the environments and the variables of {@link JSONReader} are not applied.
+     * @param in   the stream of the JSON document, it's closed after reading
+     * @param keys the wanted keys, each one can be a single key or a series of keys like "key1.key2[0]"
+     * @return the found keys with their values, the keys that don't exist in the document are not included
+     */
+    public static Map<String, Object> extract(InputStream in, String... keys) {
+        try (var reader = stream(in)) {
+            return JSONPathExtractor.extract(reader, List.of(keys));
+        }
+    }
+
+    /**
+     * To read a newline delimited JSON (JSON Lines) file, every non blank line is a separate JSON document.
+     * The returned stream is sequential, use {@link Stream#parallel()} to split the file at newline boundaries
+     * and parse the lines on the fork join pool. It supports files up to 2 GB.
+     * @param filePath the path of the file including its extension
+     * @return a {@link Stream} of {@link JSONReader} for the lines in the same order of the file
+     */
+    public static Stream<JSONReader> readLines(String filePath) {
+        if (filePath == null || filePath.isEmpty() || filePath.isBlank())
+            throw new JSONFileException("File path can't be null or empty");
+
+        return NDJSONReader.records(filePath).map(JSONReader::new);
+    }
+
+    /**
+     * To read a newline delimited JSON (JSON Lines) file as custom objects, see {@link #readLines(String)}
+     * and {@link JSONReader#getCustomObject(String, Class)}
+     * @param filePath the path of the file including its extension
+     * @param clazz    the custom object class
+     * @param <T>      The class type
+     * @return a {@link Stream} of the custom objects for the lines in the same order of the file
+     */
+    public static <T> Stream<T> readLinesAs(String filePath, Class<T> clazz) {
+        return readLines(filePath).map(reader -> reader.getCustomObject(".", clazz));
+    }
+
     /**
      * To read data from JSON Object
      * It should be parsable to Map
@@ -41,7 +242,21 @@ public class JSON {
      * @param filePath the path of the JSON file
      */
     public JSON(String filePath) {
+        this(filePath, new JSONLoadOptions());
+    }
+
+    /**
+     * Create an instance from {@link JSON} class to manage a JSON file
+     *
+     * @param filePath the path of the JSON file
+     * @param options  how to load the file if it's not loaded before
+     */
+    public JSON(String filePath, JSONLoadOptions options) {
+        if (options == null)
+            throw new IllegalArgumentException("Load options can't be null");
+
         this.filePath = filePath;
+        this.options = new JSONLoadOptions(options);
     }
 
     /**
@@ -65,18 +280,92 @@ public class JSON {
     }
 
     /**
-     * Close current JSON file
+     * Load the JSON file again and notify the listeners of the changed keys, the next reads get the new data
+     * while the readers that were created before keep the old one. A file that is not loaded yet is just loaded.
+     * A listener that throws doesn't stop the others, its exception goes to the uncaught exception handler
+     *
+     * @return the paths of the changed keys like "key1.key2[0]", or "." if the whole file is changed
+     */
+    public List<String> reload() {
+        if (filePath == null || filePath.isEmpty() || filePath.isBlank())
+            throw new JSONFileException("Only the JSON files can be loaded again");
+
+        // A file that is not loaded yet is loaded once, it has nothing to compare with
+        var loaded = JSONFileLoader.getLoadedInstance(filePath);
+        if (loaded == null) {
+            jsonFileLoader = JSONFileLoader.getInstance(filePath, options);
+            return List.of();
+        }
+
+        jsonFileLoader = loaded;
+        return jsonFileLoader.reload().changedPaths();
+    }
+
+    /**
+     * Listen to the changes of a key when the JSON file is loaded again by {@link #reload()},
+     * {@link JSONLoadOptions#setHotReload(boolean)} or {@link JSONLoadOptions#setRevalidationMillis(long)}
+     *
+     * @param key      the path of the key like "key1.key2[0]" or "." for the whole file,
+     *                 it's changed if its value or any value below it is changed
+     * @param listener the listener that is called with the old and the new values after the new data is used
+     */
+    public void onChange(String key, Consumer<JSONChange> listener) {
+        if (filePath == null || filePath.isEmpty() || filePath.isBlank())
+            throw new JSONFileException("Only the changes of the JSON files can be listened to");
+
+        changeListeners.add(JSONFileLoader.addChangeListener(filePath, key, listener));
+    }
+
+    /**
+     * Close current JSON file and remove the change listeners that were added by this instance,
+     * the listeners of the other instances of the same file are kept
      */
     public void close() {
         if (jsonFileLoader != null)
             jsonFileLoader.clear();
+        if (!changeListeners.isEmpty()) {
+            JSONFileLoader.removeChangeListeners(filePath, changeListeners);
+            changeListeners.clear();
+        }
     }
 
     /**
-     * Close all JSON files that are loaded before
+     * Close all JSON files that are loaded before and remove all the change listeners
      */
     public static void closeAll() {
         JSONFileLoader.clearAll();
+        StringPool.shared().clear();
+    }
+
+    /**
+     * Sets the limits of the cache of the loaded files, the least recently read files are dropped when it exceeds them.
+     * The readers that were created before keep working, a dropped file is loaded again on its next read
+     *
+     * @param policy the limits of the cache
+     */
+    public static void setCachePolicy(JSONCachePolicy policy) {
+        if (policy == null)
+            throw new IllegalArgumentException("Cache policy can't be null");
+
+        JSONFileLoader.setCachePolicy(policy);
+    }
+
+    /**
+     * The statistics of the cache of the loaded files
+     *
+     * @return a snapshot of the statistics
+     */
+    public static JSONCacheStats getCacheStats() {
+        return JSONFileLoader.cacheStats();
+    }
+
+    /**
+     * The statistics of the string pool that is shared by the files loaded with {@link JSONLoadOptions#setInterning(boolean)}
+     *
+     * @return a snapshot of the statistics
+     */
+    public static StringPoolStats getStringPoolStats() {
+        return StringPool.shared().stats();
     }
 
     /**
@@ -89,7 +378,9 @@ public class JSON {
             throw new JSONFileException("File path can't be null or empty");
 
         if (jsonFileLoader == null)
-            jsonFileLoader = JSONFileLoader.getInstance(filePath);
+            jsonFileLoader = JSONFileLoader.getInstance(filePath, options);
+        else
+            jsonFileLoader.onRead();
 
         return new JSONReader(jsonFileLoader);
     }
@@ -0,0 +1,95 @@
+package nsr_json;
+
+/**
+ * Limits of the cache of the loaded JSON files.
+ * <p>
+ * When a loaded file exceeds one of the limits, the least recently read files are dropped from the cache until
+ * the cache is within the limits again. A dropped file is loaded again on its next read, and the readers that
+ * were created before still work with the dropped data.
+ */
+public class JSONCachePolicy {
+    private int maxEntries = Integer.MAX_VALUE;
+    private long maxBytes = Long.MAX_VALUE;
+    private double heapPressureThreshold;
+
+    /**
+     * Create a policy without limits
+     */
+    public JSONCachePolicy() {
+    }
+
+    /**
+     * The maximum number of the loaded files in the cache
+     *
+     * @param maxEntries the maximum number of files, it should be positive
+     * @return the same instance of {@link JSONCachePolicy}
+     */
+    public JSONCachePolicy setMaxEntries(int maxEntries) {
+        if (maxEntries <= 0)
+            throw new IllegalArgumentException("The maximum number of files should be positive");
+
+        this.maxEntries = maxEntries;
+        return this;
+    }
+
+    /**
+     * The maximum estimated heap that the loaded files retain together,
+     * a file is weighed by the layout of its parsed objects, arrays and values the first time the limit is checked
+     * after it's loaded, the files are not weighed at all without this limit
+     *
+     * @param maxBytes the maximum number of bytes, it should be positive
+     * @return the same instance of {@link JSONCachePolicy}
+     */
+    public JSONCachePolicy setMaxBytes(long maxBytes) {
+        if (maxBytes <= 0)
+            throw new IllegalArgumentException("The maximum number of bytes should be positive");
+
+        this.maxBytes = maxBytes;
+        return this;
+    }
+
+    /**
+     * Releases the least recently read half of the loaded files when the old generation is still fuller than
+     * the threshold after a garbage collection, it suits the jobs that read many large files once.
+     * <p>
+     * It sets the collection usage threshold of the heap pools of the JVM that support it.
+     *
+     * @param heapPressureThreshold the fraction of the maximum heap between 0 and 1, or 0 to disable it
+     * @return the same instance of {@link JSONCachePolicy}
+     */
+    public JSONCachePolicy setHeapPressureThreshold(double heapPressureThreshold) {
+        if (!(heapPressureThreshold >= 0 && heapPressureThreshold < 1))
+            throw new IllegalArgumentException("The heap pressure threshold should be from 0 to less than 1");
+
+        this.heapPressureThreshold = heapPressureThreshold;
+        return this;
+    }
+
+    /**
+     * @return the maximum number of the loaded files
+     */
+    public int getMaxEntries() {
+        return maxEntries;
+    }
+
+    /**
+     * @return the maximum estimated heap of the loaded files in bytes
+     */
+    public long getMaxBytes() {
+        return maxBytes;
+    }
+
+    /**
+     * @return the fraction of the heap that releases the files, 0 if it's disabled
+     */
+    public double getHeapPressureThreshold() {
+        return heapPressureThreshold;
+    }
+
+    /**
+     * @return true if the policy has any limit
+     */
+    protected boolean isBounded() {
+        return maxEntries != Integer.MAX_VALUE || maxBytes != Long.MAX_VALUE;
+    }
+}
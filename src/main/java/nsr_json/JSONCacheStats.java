@@ -0,0 +1,45 @@
+package nsr_json;
+
+/**
+ * A snapshot of the statistics of the cache of the loaded JSON files
+ */
+public class JSONCacheStats {
+    private final int entries;
+    private final long weight;
+    private final long evictions;
+
+    protected JSONCacheStats(int entries, long weight, long evictions) {
+        this.entries = entries;
+        this.weight = weight;
+        this.evictions = evictions;
+    }
+
+    /**
+     * @return how many files are loaded
+     */
+    public int getEntries() {
+        return entries;
+    }
+
+    /**
+     * An estimation of the heap that the loaded files retain, assuming compressed pointers,
+     * the files that are not weighed yet are weighed when the statistics are taken
+     *
+     * @return the estimated size in bytes
+     */
+    public long getWeight() {
+        return weight;
+    }
+
+    /**
+     * @return how many files were dropped to keep the cache within the limits of its policy
+     */
+    public long getEvictions() {
+        return evictions;
+    }
+
+    @Override
+    public String toString() {
+        return "JSONCacheStats{entries=" + entries + ", weight=" + weight + ", evictions=" + evictions + "}";
+    }
+}
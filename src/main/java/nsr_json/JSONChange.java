@@ -0,0 +1,42 @@
+package nsr_json;
+
+/**
+ * A change of a key after its file is loaded again
+ */
+public class JSONChange {
+    private final String key;
+    private final Object oldValue;
+    private final Object newValue;
+
+    protected JSONChange(String key, Object oldValue, Object newValue) {
+        this.key = key;
+        this.oldValue = oldValue;
+        this.newValue = newValue;
+    }
+
+    /**
+     * @return the key that the listener is registered on
+     */
+    public String getKey() {
+        return key;
+    }
+
+    /**
+     * @return the value before the load, null if the key didn't exist
+     */
+    public Object getOldValue() {
+        return oldValue;
+    }
+
+    /**
+     * @return the value after the load, null if the key is removed
+     */
+    public Object getNewValue() {
+        return newValue;
+    }
+
+    @Override
+    public String toString() {
+        return "JSONChange{key=" + key + ", oldValue=" + oldValue + ", newValue=" + newValue + "}";
+    }
+}
@@ -0,0 +1,190 @@
+package nsr_json;
+
+import java.util.*;
+
+import static nsr_json.Helper.*;
+
+/**
+ * Compares two loads of the same document.
+ * <p>
+ * Every object and array is hashed once with a 64-bit structural hash, the objects regardless of the order of
+ * their keys, so the subtrees with different hashes are told apart without comparing them. The subtrees with the
+ * same hash are compared once structurally before they are skipped, so a collision can't hide a change. The changes are
+ * reported by the paths of the keys like "db.pool.size" or "servers[1].host", and "." for the whole document.
+ */
+class JSONDiff {
+    protected static final String ROOT = ".";
+    // The value of a key that doesn't exist
+    private static final Object MISSING = new Object();
+
+    private final Object oldData;
+    private final Object newData;
+    private final Map<Object, Long> hashes = new IdentityHashMap<>();
+
+    protected JSONDiff(Object oldData, Object newData) {
+        this.oldData = oldData;
+        this.newData = newData;
+    }
+
+    /**
+     * @return the most specific paths that are added, removed or changed
+     */
+    protected List<String> changedPaths() {
+        var changes = new ArrayList<String>();
+        diff("", oldData, newData, changes);
+        return changes;
+    }
+
+    /**
+     * Checks a single path, a path is changed if its value or any value below it is changed
+     *
+     * @param path the path of a key like "key1.key2[0]" or "." for the whole document
+     * @return the change of the path or null if it's not changed
+     */
+    protected JSONChange changeOf(String path) {
+        var oldValue = resolve(oldData, path);
+        var newValue = resolve(newData, path);
+        if (hash(oldValue) == hash(newValue) && same(oldValue, newValue))
+            return null;
+
+        return new JSONChange(path, oldValue == MISSING ? null : oldValue, newValue == MISSING ? null : newValue);
+    }
+
+    private void diff(String path, Object oldValue, Object newValue, List<String> changes) {
+        if (hash(oldValue) == hash(newValue) && same(oldValue, newValue))
+            return;
+
+        if (oldValue instanceof Map<?, ?> oldMap && newValue instanceof Map<?, ?> newMap) {
+            var keys = new LinkedHashSet<Object>(oldMap.keySet());
+            keys.addAll(newMap.keySet());
+            for (var key : keys)
+                diff(path.isEmpty() ? String.valueOf(key) : path + "." + key,
+                        oldMap.containsKey(key) ? oldMap.get(key) : MISSING,
+                        newMap.containsKey(key) ? newMap.get(key) : MISSING,
+                        changes);
+            return;
+        }
+
+        if (oldValue instanceof List<?> oldList && newValue instanceof List<?> newList) {
+            for (var i = 0; i < Math.max(oldList.size(), newList.size()); i++)
+                diff(path + "[" + i + "]",
+                        i < oldList.size() ? oldList.get(i) : MISSING,
+                        i < newList.size() ? newList.get(i) : MISSING,
+                        changes);
+            return;
+        }
+
+        changes.add(path.isEmpty() ? ROOT : path);
+    }
+
+    // Finds the value of a path or MISSING
+    private static Object resolve(Object data, String path) {
+        if (ROOT.equals(path))
+            return data;
+
+        var value = data;
+        for (var key : splitKey.apply(path)) {
+            var indexes = keyHasList.test(key) ? getIndexesFromKeyList(key) : List.<Integer>of();
+            var name = indexes.isEmpty() ? key : key.replaceAll(NUMBER_IN_SQUARE_BRACKETS_REGEX, "");
+
+            if (!name.isEmpty()) {
+                if (!(value instanceof Map<?, ?> map) || !map.containsKey(name))
+                    return MISSING;
+                value = map.get(name);
+            }
+            for (var index : indexes) {
+                if (!(value instanceof List<?> list) || index >= list.size())
+                    return MISSING;
+                value = list.get(index);
+            }
+        }
+        return value;
+    }
+
+    // Compares the values the way they are hashed, the objects regardless of the order of their keys
+    private static boolean same(Object oldValue, Object newValue) {
+        if (oldValue == newValue)
+            return true;
+
+        if (oldValue instanceof Map<?, ?> oldMap && newValue instanceof Map<?, ?> newMap) {
+            if (oldMap.size() != newMap.size())
+                return false;
+            for (var entry : oldMap.entrySet())
+                if (!newMap.containsKey(entry.getKey()) || !same(entry.getValue(), newMap.get(entry.getKey())))
+                    return false;
+            return true;
+        }
+
+        if (oldValue instanceof List<?> oldList && newValue instanceof List<?> newList) {
+            if (oldList.size() != newList.size())
+                return false;
+            for (var i = 0; i < oldList.size(); i++)
+                if (!same(oldList.get(i), newList.get(i)))
+                    return false;
+            return true;
+        }
+
+        if (oldValue == null || newValue == null || oldValue == MISSING || newValue == MISSING)
+            return false;
+        return oldValue.getClass() == newValue.getClass() && oldValue.toString().equals(newValue.toString());
+    }
+
+    /**
+     * Returns the structural hash of a value, the hashes of the objects and arrays are kept for the next calls
+     *
+     * @param value any value of the documents
+     * @return the 64-bit hash
+     */
+    protected long hash(Object value) {
+        if (value instanceof Map<?, ?> || value instanceof List<?>) {
+            var hash = hashes.get(value);
+            if (hash == null) {
+                hash = hashNode(value);
+                hashes.put(value, hash);
+            }
+            return hash;
+        }
+        return hashScalar(value);
+    }
+
+    private long hashNode(Object node) {
+        if (node instanceof Map<?, ?> map) {
+            // The entries are summed, so the order of the keys doesn't matter
+            var hash = 0x6A09E667F3BCC909L;
+            for (var entry : map.entrySet())
+                hash += mix(hashString(String.valueOf(entry.getKey())) * 31 + hash(entry.getValue()));
+            return mix(hash + map.size());
+        }
+
+        var hash = 0xBB67AE8584CAA73BL;
+        for (var item : (List<?>) node)
+            hash = mix(hash * 31 + hash(item));
+        return mix(hash + ((List<?>) node).size());
+    }
+
+    private static long hashScalar(Object value) {
+        if (value == MISSING)
+            return 0x3C6EF372FE94F82BL;
+        if (value == null)
+            return 0xA54FF53A5F1D36F1L;
+        // The type is included so 1 and "1" are different
+        return mix(hashString(value.getClass().getName()) * 31 + hashString(value.toString()));
+    }
+
+    // FNV-1a over the characters
+    private static long hashString(String string) {
+        var hash = 0xCBF29CE484222325L;
+        for (var i = 0; i < string.length(); i++) {
+            hash ^= string.charAt(i);
+            hash *= 0x100000001B3L;
+        }
+        return hash;
+    }
+
+    // The finalizer of SplitMix64
+    private static long mix(long hash) {
+        hash = (hash ^ (hash >>> 30)) * 0xBF58476D1CE4E5B9L;
+        hash = (hash ^ (hash >>> 27)) * 0x94D049BB133111EBL;
+        return hash ^ (hash >>> 31);
+    }
+}
@@ -1,34 +1,76 @@
 package nsr_json;
 
 import exception.JSONFileException;
-import org.json.simple.parser.JSONParser;
-import org.json.simple.parser.ParseException;
+import exception.ParsingException;
 
-import java.io.FileReader;
 import java.io.IOException;
-import java.io.Reader;
-import java.util.HashMap;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.InvalidPathException;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
 import java.util.Map;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Consumer;
 
-import static nsr_json.Helper.prepareFilePath;
+import static nsr_json.Helper.*;
 
 /**
  * Load and Parse JSON file
  */
 class JSONFileLoader {
 
-    // It has all loaded JSON files as relative file path as the key and instance of this class as the value
-    private final static Map<String, JSONFileLoader> loadedJSONs;
+    // It has all loaded JSON files as real file path as the key and the load of this class as the value,
+    // a file that is being loaded is already in it, so the other callers wait for the same load
+    private final static Map<String, CompletableFuture<JSONFileLoader>> loadedJSONs;
+    // Orders the reads of the loaded files, so the least recently read files are evicted first
+    private final static AtomicLong readClock;
+    private final static LongAdder evictions;
+    private static volatile JSONCachePolicy cachePolicy;
+    // The listeners of the keys of every file, they are kept when the file is evicted
+    private final static Map<String, List<ChangeListener>> changeListeners;
+    // The real paths of the given paths, so a file is loaded once however its path is written
+    private final static Map<String, String> canonicalPaths;
+    private final static long NOT_WEIGHED = -1;
     private final String filePath;
-    private final Object data;
+    private final JSONLoadOptions options;
+    // They are swapped when the file is loaded again
+    private volatile Object data;
+    // The estimated heap of the data, it's weighed on the first need and again after the data is swapped
+    private final Object weightLock = new Object();
+    private volatile long weight = NOT_WEIGHED;
+    private volatile long lastRead;
+    // The next time to check the file for changes and its size and modification time when it was loaded
+    private final AtomicLong nextRevalidation = new AtomicLong();
+    private volatile FileStamp loadedStamp;
+    // The size of the content of the file and whether it's read into the heap or mapped
+    private long contentSize;
+    private boolean contentOnHeap;
 
     static {
-        loadedJSONs = new HashMap<>();
+        loadedJSONs = new ConcurrentHashMap<>();
+        readClock = new AtomicLong();
+        evictions = new LongAdder();
+        cachePolicy = new JSONCachePolicy();
+        changeListeners = new ConcurrentHashMap<>();
+        canonicalPaths = new ConcurrentHashMap<>();
     }
 
-    private JSONFileLoader(String filePath) {
+    private JSONFileLoader(String filePath, JSONLoadOptions options) {
         this.filePath = filePath;
+        this.options = options;
+        this.loadedStamp = revalidationStamp();
         this.data = loadData();
+        this.lastRead = readClock.incrementAndGet();
+        this.nextRevalidation.set(System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(options.getRevalidationMillis()));
     }
 
     /**
@@ -38,17 +80,326 @@ class JSONFileLoader {
      * @return an instance of {@link JSONFileLoader} if already loaded return it or create a new instance
      */
     protected static JSONFileLoader getInstance(String filePath) {
+        return getInstance(filePath, new JSONLoadOptions());
+    }
+
+    /**
+     * Manage instance for {@link JSONFileLoader}, only one thread loads a file
+     * while the other threads that ask for it wait for the same load
+     *
+     * @param filePath JSON file path
+     * @param options  how to load the file if it's not loaded before
+     * @return an instance of {@link JSONFileLoader} if already loaded return it or create a new instance
+     */
+    protected static JSONFileLoader getInstance(String filePath, JSONLoadOptions options) {
         if (filePath == null || filePath.isEmpty())
             throw new JSONFileException("File path can't be null or empty");
 
-        filePath = prepareFilePath(filePath);
+        var path = canonicalPath(filePath);
+        var load = loadedJSONs.get(path);
+        if (load == null) {
+            var newLoad = new CompletableFuture<JSONFileLoader>();
+            load = loadedJSONs.putIfAbsent(path, newLoad);
+            if (load == null) {
+                load = newLoad;
+                load(path, new JSONLoadOptions(options), newLoad);
+            }
+        }
+
+        return await(load).onRead();
+    }
+
+    /**
+     * Finds the instance of a file without loading it, a file that is being loaded is waited for
+     *
+     * @param filePath JSON file path
+     * @return the loaded instance of {@link JSONFileLoader} or null if the file is not loaded
+     */
+    protected static JSONFileLoader getLoadedInstance(String filePath) {
+        var load = loadedJSONs.get(canonicalPath(filePath));
+        return load == null ? null : await(load);
+    }
+
+    /**
+     * Manage instance for {@link JSONFileLoader} without blocking the caller,
+     * the callers that ask for a file while it's being loaded share the same load
+     *
+     * @param filePath JSON file path
+     * @param options  how to load the file if it's not loaded before
+     * @param executor the executor to load the file on, or null to use virtual threads if the JDK has them
+     * @return a future of the instance of {@link JSONFileLoader}
+     */
+    protected static CompletableFuture<JSONFileLoader> getInstanceAsync(String filePath,
+                                                                       JSONLoadOptions options,
+                                                                       Executor executor) {
+        if (filePath == null || filePath.isEmpty())
+            return CompletableFuture.failedFuture(new JSONFileException("File path can't be null or empty"));
+
+        var path = canonicalPath(filePath);
+        var load = loadedJSONs.get(path);
+        if (load != null)
+            return load.thenApply(JSONFileLoader::onRead);
+
+        var newLoad = new CompletableFuture<JSONFileLoader>();
+        load = loadedJSONs.putIfAbsent(path, newLoad);
+        if (load != null)
+            return load.thenApply(JSONFileLoader::onRead);
+
+        // Copied before the load is scheduled, so the caller can't change the options while it's waiting
+        var loadOptions = new JSONLoadOptions(options);
+        try {
+            (executor != null ? executor : DefaultExecutor.INSTANCE).execute(() -> load(path, loadOptions, newLoad));
+        } catch (RejectedExecutionException e) {
+            loadedJSONs.remove(path, newLoad);
+            newLoad.completeExceptionally(e);
+        }
+
+        return newLoad.copy();
+    }
+
+    /**
+     * Finds the key of a file in the loaded files, it's the real path of the file with the symbolic links resolved.
+     * The real path is found once for every given path, and a file that doesn't exist keeps the given path.
+     * A file of another extension, like the ones matched by a custom pattern of {@link DirectoryPreloader},
+     * is found by its own path if there is no ".json" file with the same name
+     *
+     * @param filePath JSON file path with or without extension
+     * @return the real path of the file
+     */
+    protected static String canonicalPath(String filePath) {
+        var canonical = canonicalPaths.get(filePath);
+        if (canonical != null)
+            return canonical;
+
+        var path = prepareFilePath(filePath);
+        try {
+            if (!path.equals(filePath) && Files.notExists(Path.of(path)) && Files.isRegularFile(Path.of(filePath)))
+                path = filePath;
+            canonical = Path.of(path).toRealPath().toString();
+        } catch (IOException | InvalidPathException e) {
+            return path;
+        }
+
+        canonicalPaths.put(filePath, canonical);
+        return canonical;
+    }
+
+    /**
+     * Loads a file and completes its load, a failed load is removed so the file can be loaded again
+     *
+     * @param filePath JSON file path
+     * @param options  how to load the file
+     * @param load     the load of the file in the loaded files
+     */
+    private static void load(String filePath, JSONLoadOptions options, CompletableFuture<JSONFileLoader> load) {
+        try {
+            var loader = new JSONFileLoader(filePath, options);
+            if (options.isHotReload())
+                FileWatcher.shared().watch(loader, Path.of(filePath));
+            load.complete(loader);
+        } catch (RuntimeException | Error e) {
+            loadedJSONs.remove(filePath, load);
+            load.completeExceptionally(e);
+            return;
+        }
+
+        evictIfNeeded();
+    }
+
+    /**
+     * Drops the least recently read files until the cache is within the limits of its policy,
+     * the most recently read file is always kept
+     */
+    private static synchronized void evictIfNeeded() {
+        var policy = cachePolicy;
+        if (!policy.isBounded())
+            return;
+
+        var entries = loadedEntries();
+        var count = entries.size();
+        // The files are weighed only when the policy limits the bytes
+        var weighed = policy.getMaxBytes() != Long.MAX_VALUE;
+        var totalWeight = weighed ? entries.stream().mapToLong(entry -> entry.loader().weight()).sum() : 0;
+        if (count <= policy.getMaxEntries() && totalWeight <= policy.getMaxBytes())
+            return;
+
+        var evicted = false;
+        for (var i = 0; i < entries.size() - 1; i++) {
+            if (count <= policy.getMaxEntries() && totalWeight <= policy.getMaxBytes())
+                break;
+
+            var entry = entries.get(i);
+            if (loadedJSONs.remove(entry.path(), entry.load())) {
+                count--;
+                if (weighed)
+                    totalWeight -= entry.loader().weight();
+                evictions.increment();
+                evicted = true;
+            }
+        }
+
+        // The pool may hold the only other references to the strings of the evicted files
+        if (evicted)
+            StringPool.shared().clear();
+    }
 
-        if (loadedJSONs.containsKey(filePath))
-            return loadedJSONs.get(filePath);
+    /**
+     * Sets the limits of the cache and evicts the files that exceed them
+     *
+     * @param policy the limits of the cache
+     */
+    protected static void setCachePolicy(JSONCachePolicy policy) {
+        cachePolicy = policy;
+        HeapPressureMonitor.update(policy.getHeapPressureThreshold());
+        evictIfNeeded();
+    }
+
+    /**
+     * Drops the least recently read half of the loaded files and clears the string pool,
+     * it's called when the heap is still full after a garbage collection
+     */
+    protected static synchronized void releaseUnderPressure() {
+        var entries = loadedEntries();
+        for (var entry : entries.subList(0, (entries.size() + 1) / 2))
+            if (loadedJSONs.remove(entry.path(), entry.load()))
+                evictions.increment();
 
-        var newLoader = new JSONFileLoader(filePath);
-        loadedJSONs.put(filePath, newLoader);
-        return newLoader;
+        StringPool.shared().clear();
+    }
+
+    /**
+     * @return a snapshot of the statistics of the cache
+     */
+    protected static JSONCacheStats cacheStats() {
+        var count = 0;
+        var totalWeight = 0L;
+        for (var load : loadedJSONs.values()) {
+            var loader = loaderOf(load);
+            if (loader != null) {
+                count++;
+                totalWeight += loader.weight();
+            }
+        }
+        return new JSONCacheStats(count, totalWeight, evictions.sum());
+    }
+
+    // Returns the loaded files from the least to the most recently read, the files that are still loading are skipped
+    private static List<CacheEntry> loadedEntries() {
+        var entries = new ArrayList<CacheEntry>();
+        for (var entry : loadedJSONs.entrySet()) {
+            var loader = loaderOf(entry.getValue());
+            if (loader != null)
+                entries.add(new CacheEntry(entry.getKey(), entry.getValue(), loader, loader.lastRead));
+        }
+
+        entries.sort(Comparator.comparingLong(CacheEntry::lastRead));
+        return entries;
+    }
+
+    // Returns the loaded instance or null if the file is still loading or failed
+    private static JSONFileLoader loaderOf(CompletableFuture<JSONFileLoader> load) {
+        return load.isDone() && !load.isCompletedExceptionally() ? load.join() : null;
+    }
+
+    /**
+     * Marks the file as recently read and checks it for changes if it's the time to do that
+     *
+     * @return the same instance
+     */
+    protected JSONFileLoader onRead() {
+        lastRead = readClock.incrementAndGet();
+        revalidate();
+        return this;
+    }
+
+    /**
+     * Loads the file again if its size or modification time is changed, only one thread checks the file
+     * in every interval while the others continue with the current data
+     */
+    private void revalidate() {
+        var interval = options.getRevalidationMillis();
+        if (interval == 0)
+            return;
+
+        var now = System.nanoTime();
+        var next = nextRevalidation.get();
+        if (now - next < 0 || !nextRevalidation.compareAndSet(next, now + TimeUnit.MILLISECONDS.toNanos(interval)))
+            return;
+
+        var stamp = revalidationStamp();
+        if (stamp == null || stamp.equals(loadedStamp))
+            return;
+
+        try {
+            reload();
+        } catch (RuntimeException ignore) {
+            // The file may be partly written, the old data is kept until the next check
+        }
+    }
+
+    // Returns the size and the modification time of the file if it's revalidated, otherwise null
+    private FileStamp revalidationStamp() {
+        if (options.getRevalidationMillis() == 0)
+            return null;
+
+        try {
+            return fileStamp();
+        } catch (JSONFileException e) {
+            return null;
+        }
+    }
+
+    /**
+     * The estimated heap retained by the loaded file, the data is weighed on the first call after it's loaded
+     *
+     * @return the estimated size in bytes
+     */
+    private long weight() {
+        var current = weight;
+        if (current != NOT_WEIGHED)
+            return current;
+
+        synchronized (weightLock) {
+            if (weight == NOT_WEIGHED)
+                weight = estimateWeight(data);
+            return weight;
+        }
+    }
+
+    /**
+     * Estimates the heap retained by the loaded file
+     *
+     * @param data the loaded data
+     * @return the estimated size in bytes
+     */
+    private long estimateWeight(Object data) {
+        // The lazy documents and the string slices keep the content of the file
+        var retainedContent = contentOnHeap && (options.isLazy() || options.isStringSlices()) ? contentSize : 0;
+        if (options.isLazy())
+            // The mapped snapshot views keep nothing on the heap, the structural index keeps about an int for 8 bytes
+            return options.isSnapshot() ? 0 : retainedContent + contentSize / 2;
+
+        return retainedContent + DocumentWeigher.weigh(data);
+    }
+
+    /**
+     * Waits for a load of a file
+     *
+     * @param load the load of the file
+     * @return the loaded instance
+     */
+    private static JSONFileLoader await(CompletableFuture<JSONFileLoader> load) {
+        try {
+            return load.join();
+        } catch (CompletionException | CancellationException e) {
+            var cause = e.getCause();
+            if (cause instanceof RuntimeException runtimeException)
+                throw runtimeException;
+            if (cause instanceof Error error)
+                throw error;
+
+            throw new JSONFileException("Can't load this file", e);
+        }
     }
 
     /**
@@ -61,17 +412,111 @@ class JSONFileLoader {
     }
 
     /**
-     * Clears all the loaded data from all files
+     * Loads the file again and swaps the data at once, the data is kept if the file can't be loaded.
+     * The listeners of the changed keys are notified after the swap in the order of the reloads
+     *
+     * @return the difference between the old and the new data
+     */
+    protected synchronized JSONDiff reload() {
+        var stamp = revalidationStamp();
+        var oldData = data;
+        var newData = loadData();
+        synchronized (weightLock) {
+            data = newData;
+            weight = NOT_WEIGHED;
+        }
+        loadedStamp = stamp;
+
+        var diff = new JSONDiff(oldData, newData);
+        var listeners = changeListeners.get(filePath);
+        if (listeners != null)
+            for (var listener : listeners) {
+                var change = diff.changeOf(listener.key());
+                if (change != null)
+                    notify(listener, change);
+            }
+        return diff;
+    }
+
+    // A failing listener doesn't stop the other listeners or the reload,
+    // its exception is passed to the uncaught exception handler of the current thread
+    private static void notify(ChangeListener listener, JSONChange change) {
+        try {
+            listener.listener().accept(change);
+        } catch (RuntimeException e) {
+            var thread = Thread.currentThread();
+            thread.getUncaughtExceptionHandler().uncaughtException(thread, e);
+        }
+    }
+
+    /**
+     * Registers a listener of a key of a file, it's notified when the file is loaded again and the value of the key
+     * or any value below it is changed
+     *
+     * @param filePath JSON file path
+     * @param key      the path of the key like "key1.key2[0]" or "." for the whole file
+     * @param listener the listener of the changes
+     * @return the registered listener to be removed by {@link #removeChangeListeners(String, List)}
+     */
+    protected static ChangeListener addChangeListener(String filePath, String key, Consumer<JSONChange> listener) {
+        if (filePath == null || filePath.isEmpty())
+            throw new JSONFileException("File path can't be null or empty");
+        if (key == null || key.isEmpty())
+            throw new IllegalArgumentException("Key can't be null or empty");
+        if (listener == null)
+            throw new IllegalArgumentException("Listener can't be null");
+
+        var changeListener = new ChangeListener(key, listener);
+        changeListeners
+                .computeIfAbsent(canonicalPath(filePath), path -> new CopyOnWriteArrayList<>())
+                .add(changeListener);
+        return changeListener;
+    }
+
+    /**
+     * @return true if this instance is still the loaded one of its file or its file is being loaded
+     */
+    protected boolean isCached() {
+        var load = loadedJSONs.get(filePath);
+        return load != null && (!load.isDone() || loaderOf(load) == this);
+    }
+
+    /**
+     * @return the path of the file
+     */
+    protected String getFilePath() {
+        return filePath;
+    }
+
+    /**
+     * Removes some change listeners of a file, the listeners that were registered by the others are kept
+     *
+     * @param filePath  JSON file path
+     * @param listeners the listeners returned by {@link #addChangeListener(String, String, Consumer)}
+     */
+    protected static void removeChangeListeners(String filePath, List<ChangeListener> listeners) {
+        changeListeners.computeIfPresent(canonicalPath(filePath), (path, registered) -> {
+            // Compared by identity, an equal listener of another instance is kept
+            registered.removeIf(listener -> listeners.stream().anyMatch(removed -> removed == listener));
+            return registered.isEmpty() ? null : registered;
+        });
+    }
+
+    /**
+     * Clears all the loaded data and the change listeners from all files
      */
     protected static void clearAll() {
         loadedJSONs.clear();
+        changeListeners.clear();
+        canonicalPaths.clear();
     }
 
     /**
-     * Clears the current instance from the loaded files
+     * Clears the current instance from the loaded files,
+     * a newer load of the same file is kept
      */
     protected void clear() {
-        loadedJSONs.remove(filePath);
+        loadedJSONs.computeIfPresent(filePath, (path, load) -> loaderOf(load) == this ? null : load);
     }
 
     /**
@@ -80,13 +525,25 @@ class JSONFileLoader {
      * @return the data at that file as {@link Object}
      */
     private Object loadData() {
+        if (options.isLazy() && options.isSnapshot())
+            return loadMappedSnapshotData();
+        if (options.isLazy())
+            return loadLazyData();
+        if (options.getParseCache() != null)
+            return loadCachedData();
+        if (options.isSnapshot())
+            return loadSnapshotData();
+        if (options.isParallel())
+            return loadParallelData();
+        if (options.isMemoryMapped() || options.isStringSlices())
+            return loadBufferedData();
+
         Object parsedData;
-        var parser = new JSONParser();
         var reader = getFile();
 
         try {
-            parsedData = parser.parse(reader);
-        } catch (IOException | ParseException e) {
+            parsedData = JSONParser.parse(reader, options);
+        } catch (IOException | ParsingException e) {
             throw new JSONFileException("Can't parse this file [" + filePath + "]", e);
         } finally {
             closeReader(reader);
@@ -96,16 +553,258 @@ class JSONFileLoader {
     }
 
     /**
-     * Loads the JSON file
+     * Parses the JSON file directly from a memory mapped buffer or from all of its bytes
+     *
+     * @return the data at that file as {@link Object}
+     */
+    private Object loadBufferedData() {
+        var bytes = options.isMemoryMapped() ? getMappedFile() : getFileBytes();
+
+        try {
+            return JSONParser.parse(bytes, options);
+        } catch (IOException | ParsingException e) {
+            throw new JSONFileException("Can't parse this file [" + filePath + "]", e);
+        }
+    }
+
+    /**
+     * Parses the items of the root array of the JSON file concurrently
+     *
+     * @return the data at that file as {@link Object}
+     */
+    private Object loadParallelData() {
+        var bytes = options.isMemoryMapped() ? getMappedFile() : getFileBytes();
+
+        try {
+            return ParallelArrayParser.parse(bytes, options);
+        } catch (IOException | ParsingException e) {
+            throw new JSONFileException("Can't parse this file [" + filePath + "]", e);
+        }
+    }
+
+    /**
+     * Reads the snapshot of the JSON file if it was written from the same content,
+     * otherwise parses the file and writes its snapshot for the next loads
+     *
+     * @return the data at that file as {@link Object}
+     */
+    private Object loadSnapshotData() {
+        var stamp = fileStamp();
+        var bytes = options.isMemoryMapped() ? getMappedFile() : getFileBytes();
+        var checksum = BinarySnapshot.checksum(bytes);
+        var snapshotPath = BinarySnapshot.pathOf(filePath);
+
+        var snapshot = readSnapshot(snapshotPath);
+        if (snapshot != null && BinarySnapshot.isFresh(snapshot, stamp.size(), stamp.modified(), checksum)) {
+            try {
+                return BinarySnapshot.read(snapshot, options);
+            } catch (ParsingException ignore) {
+                // A corrupted snapshot is replaced by parsing the file again
+            }
+        }
+
+        return parseAndWriteSnapshot(bytes, stamp, checksum, snapshotPath);
+    }
+
+    /**
+     * Reads the parsed document of the content of the JSON file from the parse cache,
+     * otherwise parses the file and writes its document to the cache for the next loads
+     *
+     * @return the data at that file as {@link Object}
+     */
+    private Object loadCachedData() {
+        var bytes = options.isMemoryMapped() ? getMappedFile() : getFileBytes();
+        var size = bytes.remaining();
+        var hash = ParseCache.hash(bytes);
+        var path = ParseCache.pathOf(Path.of(options.getParseCache()), hash, size, options);
+
+        var cachedData = ParseCache.read(path, hash, size, options);
+        if (cachedData != null)
+            return cachedData;
+
+        var parsedData = parseBytes(bytes);
+
+        try {
+            ParseCache.write(parsedData, path, hash, size, options.getParseCacheMaxBytes());
+        } catch (IOException | ParsingException | SecurityException ignore) {
+            // The cache only speeds up the next loads, the file is loaded even if it can't be written
+        }
+
+        return parsedData;
+    }
+
+    /**
+     * Maps the snapshot of the JSON file and reads it in place without building the objects and arrays,
+     * the snapshot is written first if it's missing or it's not written from a file with the same size and
+     * modification time. The JSON file itself is not read while its snapshot is fresh
+     *
+     * @return the root of the snapshot document
+     */
+    private Object loadMappedSnapshotData() {
+        var stamp = fileStamp();
+        var snapshotPath = BinarySnapshot.pathOf(filePath);
+
+        var snapshot = mapSnapshot(snapshotPath);
+        if (snapshot == null || !BinarySnapshot.isFresh(snapshot, stamp.size(), stamp.modified())) {
+            var bytes = getMappedFile();
+            var parsedData = parseAndWriteSnapshot(bytes, stamp, BinarySnapshot.checksum(bytes), snapshotPath);
+
+            snapshot = mapSnapshot(snapshotPath);
+            if (snapshot == null || !BinarySnapshot.isFresh(snapshot, stamp.size(), stamp.modified()))
+                return parsedData;
+        }
+
+        try {
+            return SnapshotDocument.open(snapshot);
+        } catch (ParsingException e) {
+            throw new JSONFileException("Can't parse this file [" + filePath + "]", e);
+        }
+    }
+
+    /**
+     * Parses the content of the JSON file, the items of its root array are parsed concurrently if it's enabled
+     *
+     * @param bytes the content of the file
+     * @return the data at that file as {@link Object}
+     */
+    private Object parseBytes(ByteBuffer bytes) {
+        try {
+            return options.isParallel() ?
+                    ParallelArrayParser.parse(bytes, options) :
+                    JSONParser.parse(bytes, options);
+        } catch (IOException | ParsingException e) {
+            throw new JSONFileException("Can't parse this file [" + filePath + "]", e);
+        }
+    }
+
+    /**
+     * Parses the JSON file and writes its snapshot for the next loads
+     *
+     * @param bytes        the content of the file
+     * @param stamp        the size and the modification time of the file
+     * @param checksum     the checksum of the content
+     * @param snapshotPath the path of the snapshot
+     * @return the data at that file as {@link Object}
+     */
+    private Object parseAndWriteSnapshot(ByteBuffer bytes, FileStamp stamp, long checksum, Path snapshotPath) {
+        var parsedData = parseBytes(bytes);
+
+        try {
+            BinarySnapshot.write(parsedData, stamp.size(), stamp.modified(), checksum, snapshotPath);
+        } catch (IOException | ParsingException ignore) {
+            // The snapshot only speeds up the next loads, the file is loaded even if it can't be written
+        }
+
+        return parsedData;
+    }
+
+    /**
+     * Maps the snapshot of the JSON file into the memory
+     *
+     * @param snapshotPath the path of the snapshot
+     * @return the mapped snapshot or null if it can't be mapped
+     */
+    private ByteBuffer mapSnapshot(Path snapshotPath) {
+        try (var channel = FileChannel.open(snapshotPath, StandardOpenOption.READ)) {
+            var size = channel.size();
+            return size > Integer.MAX_VALUE ? null : channel.map(FileChannel.MapMode.READ_ONLY, 0, size);
+        } catch (IOException e) {
+            return null;
+        }
+    }
+
+    /**
+     * Reads the snapshot of the JSON file
      *
-     * @return the reader of the file
+     * @param snapshotPath the path of the snapshot
+     * @return the content of the snapshot or null if it can't be read
      */
-    private Reader getFile() {
+    private ByteBuffer readSnapshot(Path snapshotPath) {
         try {
-            return new FileReader(filePath);
+            return ByteBuffer.wrap(Files.readAllBytes(snapshotPath));
         } catch (IOException e) {
-            loadedJSONs.remove(filePath);
+            return null;
+        }
+    }
 
+    /**
+     * @return the size and the modification time of the JSON file as it's stored, before any decompression
+     */
+    private FileStamp fileStamp() {
+        try {
+            var attributes = Files.readAttributes(Path.of(filePath), BasicFileAttributes.class);
+            return new FileStamp(attributes.size(), attributes.lastModifiedTime().toMillis());
+        } catch (IOException e) {
+            throw new JSONFileException("Can't load this file [" + filePath + "]", e);
+        }
+    }
+
+    /**
+     * Indexes the JSON file and keeps its bytes to decode the values on demand
+     *
+     * @return the root of the lazy document
+     */
+    private Object loadLazyData() {
+        var bytes = options.isMemoryMapped() ? getMappedFile() : getFileBytes();
+
+        try {
+            return LazyDocument.parse(bytes, options.isVectorIndexing());
+        } catch (ParsingException e) {
+            throw new JSONFileException("Can't parse this file [" + filePath + "]", e);
+        }
+    }
+
+    /**
+     * Reads all the bytes of the JSON file, a gzip compressed file is decompressed
+     *
+     * @return the content of the file
+     */
+    private ByteBuffer getFileBytes() {
+        try {
+            var bytes = decompressIfGzip(ByteBuffer.wrap(Files.readAllBytes(Path.of(filePath))));
+            contentSize = bytes.remaining();
+            contentOnHeap = true;
+            return bytes;
+        } catch (IOException e) {
+            throw new JSONFileException("Can't load this file [" + filePath + "]", e);
+        }
+    }
+
+    /**
+     * Maps the JSON file into the memory, the mapping stays valid after the channel is closed.
+     * A gzip compressed file can't be read in place, so it's decompressed into the heap instead
+     *
+     * @return the mapped content of the file
+     */
+    private ByteBuffer getMappedFile() {
+        ByteBuffer mapped;
+        try (var channel = FileChannel.open(Path.of(filePath), StandardOpenOption.READ)) {
+            var size = channel.size();
+            if (size > Integer.MAX_VALUE)
+                throw new JSONFileException("Can't map this file [" + filePath + "] it's larger than 2 GB");
+
+            mapped = channel.map(FileChannel.MapMode.READ_ONLY, 0, size);
+        } catch (IOException e) {
+            throw new JSONFileException("Can't load this file [" + filePath + "]", e);
+        }
+
+        if (isGzip(mapped))
+            return getFileBytes();
+
+        contentSize = mapped.remaining();
+        contentOnHeap = false;
+        return mapped;
+    }
+
+    /**
+     * Loads the JSON file, a gzip compressed file is decompressed while it's parsed
+     *
+     * @return the stream of the file
+     */
+    private InputStream getFile() {
+        try {
+            return openFile(filePath);
+        } catch (IOException e) {
             throw new JSONFileException("Can't load this file [" + filePath + "]", e);
         }
     }
@@ -115,11 +814,40 @@ class JSONFileLoader {
      *
      * @param reader want to be closed
      */
-    private void closeReader(Reader reader) {
+    private void closeReader(InputStream reader) {
         try {
             reader.close();
         } catch (IOException e) {
             throw new JSONFileException("Can't close this file [" + filePath + "]", e);
         }
     }
+
+    /**
+     * The executor of the asynchronous loads, it's created on the first use
+     */
+    private static class DefaultExecutor {
+        private static final Executor INSTANCE = create();
+
+        // Uses a virtual thread per load on the JDKs that have them, otherwise a pool of daemon threads
+        private static Executor create() {
+            try {
+                return (Executor) Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+            } catch (ReflectiveOperationException | RuntimeException e) {
+                return Executors.newCachedThreadPool(task -> {
+                    var thread = new Thread(task, "nsr-json-loader");
+                    thread.setDaemon(true);
+                    return thread;
+                });
+            }
+        }
+    }
+
+    protected record ChangeListener(String key, Consumer<JSONChange> listener) {
+    }
+
+    private record FileStamp(long size, long modified) {
+    }
+
+    private record CacheEntry(String path, CompletableFuture<JSONFileLoader> load, JSONFileLoader loader, long lastRead) {
+    }
 }
@@ -0,0 +1,386 @@
+package nsr_json;
+
+/**
+ * Options to control how a JSON file is loaded.
+ * <p>
+ * The options are applied when the file is loaded for the first time,
+ * the next reads of the same file will use the already loaded data until it's closed.
+ */
+public class JSONLoadOptions {
+    private boolean memoryMapped;
+    private boolean lazy;
+    private boolean vectorIndexing;
+    private boolean parallel;
+    private boolean lazyNumbers;
+    private boolean interning;
+    private int internedValueLength = 16;
+    private boolean compact;
+    private boolean snapshot;
+    private boolean stringSlices;
+    private boolean hotReload;
+    private long revalidationMillis;
+    private String parseCacheDirectory;
+    private long parseCacheMaxBytes = 256L * 1024 * 1024;
+
+    /**
+     * Create options with the default loading behaviour
+     */
+    public JSONLoadOptions() {
+    }
+
+    /**
+     * Copies the options, so a loaded file keeps the options it was loaded with if the caller changes them
+     *
+     * @param other the options to copy
+     */
+    protected JSONLoadOptions(JSONLoadOptions other) {
+        this.memoryMapped = other.memoryMapped;
+        this.lazy = other.lazy;
+        this.vectorIndexing = other.vectorIndexing;
+        this.parallel = other.parallel;
+        this.lazyNumbers = other.lazyNumbers;
+        this.interning = other.interning;
+        this.internedValueLength = other.internedValueLength;
+        this.compact = other.compact;
+        this.snapshot = other.snapshot;
+        this.stringSlices = other.stringSlices;
+        this.hotReload = other.hotReload;
+        this.revalidationMillis = other.revalidationMillis;
+        this.parseCacheDirectory = other.parseCacheDirectory;
+        this.parseCacheMaxBytes = other.parseCacheMaxBytes;
+    }
+
+    /**
+     * Parse the file directly from a memory mapped buffer instead of reading it through a stream.
+     * <p>
+     * The mapped pages are shared with the OS page cache, so it suits large files that are read by many processes.
+     * It supports files up to 2 GB.
+     *
+     * @param memoryMapped true to map the file into the memory
+     * @return the same instance of {@link JSONLoadOptions}
+     */
+    public JSONLoadOptions setMemoryMapped(boolean memoryMapped) {
+        this.memoryMapped = memoryMapped;
+        return this;
+    }
+
+    /**
+     * @return true if the file will be parsed from a memory mapped buffer
+     */
+    public boolean isMemoryMapped() {
+        return memoryMapped;
+    }
+
+    /**
+     * Index the file structure on load and decode only the values that are actually read.
+     * <p>
+     * The raw bytes of the file are kept in the memory (or mapped if {@link #setMemoryMapped(boolean)} is enabled)
+     * and the objects and arrays are returned as read only views.
+     * Only the structure is validated on load, an invalid value is reported when it's read.
+     *
+     * @param lazy true to decode the values on demand
+     * @return the same instance of {@link JSONLoadOptions}
+     */
+    public JSONLoadOptions setLazy(boolean lazy) {
+        this.lazy = lazy;
+        return this;
+    }
+
+    /**
+     * @return true if the values will be decoded on demand
+     */
+    public boolean isLazy() {
+        return lazy;
+    }
+
+    /**
+     * Find the structure of the file many bytes at a time using the incubating Vector API.
+     * <p>
+     * It's used only with {@link #setLazy(boolean)}, because the other modes don't build a structural index,
+     * so it's ignored unless the lazy mode is enabled. The library must be built with the "vector" profile and
+     * the JVM must be started with "--add-modules jdk.incubator.vector", otherwise the file will be scanned
+     * byte by byte as if this option is disabled.
+     * <p>
+     * It's experimental: on the measured documents it's no faster than the byte by byte scan, which stays
+     * the default. "mvn test -Pbenchmark,vector" compares both scans on the machine.
+     *
+     * @param vectorIndexing true to use the Vector API if it's available
+     * @return the same instance of {@link JSONLoadOptions}
+     */
+    public JSONLoadOptions setVectorIndexing(boolean vectorIndexing) {
+        this.vectorIndexing = vectorIndexing;
+        return this;
+    }
+
+    /**
+     * @return true if the Vector API will be used if it's available
+     */
+    public boolean isVectorIndexing() {
+        return vectorIndexing;
+    }
+
+    /**
+     * Parse the items of a large root array concurrently on the common fork join pool.
+     * <p>
+     * The file is read into the memory (or mapped if {@link #setMemoryMapped(boolean)} is enabled),
+     * its items are split into ranges and every range is parsed by a separate task.
+     * Files smaller than 1 MB or with a root that is not an array are parsed normally, it's ignored by the lazy mode.
+     *
+     * @param parallel true to parse the root array on all the cores
+     * @return the same instance of {@link JSONLoadOptions}
+     */
+    public JSONLoadOptions setParallel(boolean parallel) {
+        this.parallel = parallel;
+        return this;
+    }
+
+    /**
+     * @return true if a large root array will be parsed concurrently
+     */
+    public boolean isParallel() {
+        return parallel;
+    }
+
+    /**
+     * Keep the decimals and the integers that don't fit in a {@link Long} as {@link JSONNumber}
+     * and decode them only when they are read.
+     * <p>
+     * The numbers are still validated on load, and their exact value is available by {@link JSONNumber#bigDecimalValue()}.
+     * The integers that fit in a {@link Long} are decoded while they are scanned, it's ignored by the lazy mode.
+     *
+     * @param lazyNumbers true to decode the numbers on demand
+     * @return the same instance of {@link JSONLoadOptions}
+     */
+    public JSONLoadOptions setLazyNumbers(boolean lazyNumbers) {
+        this.lazyNumbers = lazyNumbers;
+        return this;
+    }
+
+    /**
+     * @return true if the decimals and the too large integers will be decoded on demand
+     */
+    public boolean isLazyNumbers() {
+        return lazyNumbers;
+    }
+
+    /**
+     * Take the keys and the short string values from a pool that is shared by all the loaded documents,
+     * so the strings that are repeated across the files are kept in the memory once.
+     * <p>
+     * The keys are pooled up to 64 characters and the values up to {@link #setInternedValueLength(int)} characters.
+     * The pool is cleared when a file is evicted by {@link JSON#setCachePolicy(JSONCachePolicy)} or released
+     * under heap pressure, so the next loads share their strings again from an empty pool.
+     * The statistics of the pool are available by {@link JSON#getStringPoolStats()}, it's ignored by the lazy mode.
+     *
+     * @param interning true to share the repeated strings
+     * @return the same instance of {@link JSONLoadOptions}
+     */
+    public JSONLoadOptions setInterning(boolean interning) {
+        this.interning = interning;
+        return this;
+    }
+
+    /**
+     * @return true if the repeated strings will be shared
+     */
+    public boolean isInterning() {
+        return interning;
+    }
+
+    /**
+     * The longest string value to be pooled when {@link #setInterning(boolean)} is enabled, it's 16 by default
+     *
+     * @param internedValueLength the maximum number of characters, 0 to pool only the keys
+     * @return the same instance of {@link JSONLoadOptions}
+     */
+    public JSONLoadOptions setInternedValueLength(int internedValueLength) {
+        if (internedValueLength < 0)
+            throw new IllegalArgumentException("The interned value length can't be negative");
+
+        this.internedValueLength = internedValueLength;
+        return this;
+    }
+
+    /**
+     * @return the longest string value to be pooled
+     */
+    public int getInternedValueLength() {
+        return internedValueLength;
+    }
+
+    /**
+     * Build the objects and arrays as read only nodes that take less memory than {@link java.util.HashMap}
+     * and {@link java.util.ArrayList}.
+     * <p>
+     * The objects keep their keys in the order of the file, and the arrays of integers or decimals only
+     * are backed by primitive arrays, it's ignored by the lazy mode.
+     *
+     * @param compact true to build read only compact nodes
+     * @return the same instance of {@link JSONLoadOptions}
+     */
+    public JSONLoadOptions setCompact(boolean compact) {
+        this.compact = compact;
+        return this;
+    }
+
+    /**
+     * @return true if the objects and arrays will be built as compact nodes
+     */
+    public boolean isCompact() {
+        return compact;
+    }
+
+    /**
+     * Keep a binary snapshot of the parsed file next to it (as "filePath.json.snapshot") and read it instead of
+     * parsing the file on the next loads, even from another JVM.
+     * <p>
+     * The snapshot is used only if the file still has the same size, modification time and checksum,
+     * otherwise the file is parsed and the snapshot is written again.
+     * <p>
+     * With {@link #setLazy(boolean)} the snapshot is mapped into the memory and read in place as read only views,
+     * the values are decoded every time they are read and the processes that read the same snapshot
+     * share one copy of it in the OS page cache.
+     * The mapped snapshot is checked by the size and the modification time only, so the file isn't read
+     * while its snapshot is fresh.
+     *
+     * @param snapshot true to read and write the binary snapshot
+     * @return the same instance of {@link JSONLoadOptions}
+     */
+    public JSONLoadOptions setSnapshot(boolean snapshot) {
+        this.snapshot = snapshot;
+        return this;
+    }
+
+    /**
+     * @return true if the binary snapshot will be used
+     */
+    public boolean isSnapshot() {
+        return snapshot;
+    }
+
+    /**
+     * Keep the string values as slices of the bytes of the file and decode them only when they are read.
+     * <p>
+     * The bytes of the file are kept in the memory (or mapped if {@link #setMemoryMapped(boolean)} is enabled)
+     * and the objects and arrays are built as read only nodes like {@link #setCompact(boolean)}.
+     * The escapes are still validated on load. The keys are kept as slices too and compared byte by byte when
+     * they are looked up, they are decoded only when the keys of an object are iterated. The strings are not
+     * taken from the pool of {@link #setInterning(boolean)}. It's ignored by the lazy mode.
+     *
+     * @param stringSlices true to decode the string values on demand
+     * @return the same instance of {@link JSONLoadOptions}
+     */
+    public JSONLoadOptions setStringSlices(boolean stringSlices) {
+        this.stringSlices = stringSlices;
+        return this;
+    }
+
+    /**
+     * @return true if the string values will be decoded on demand
+     */
+    public boolean isStringSlices() {
+        return stringSlices;
+    }
+
+    /**
+     * Watch the file and load it again in the background when it's changed.
+     * <p>
+     * The changes are collected for a short time before loading, and the loaded data is swapped at once when the
+     * new content is parsed, so the next reads see either the old or the new data. The readers that were created
+     * before keep the old data, read the file again to get the new one. A change that can't be parsed keeps the
+     * old data. It uses the {@link java.nio.file.WatchService} of the file system, which may be slow or
+     * unreliable on the network mounts.
+     *
+     * @param hotReload true to load the file again when it's changed
+     * @return the same instance of {@link JSONLoadOptions}
+     */
+    public JSONLoadOptions setHotReload(boolean hotReload) {
+        this.hotReload = hotReload;
+        return this;
+    }
+
+    /**
+     * @return true if the file will be loaded again when it's changed
+     */
+    public boolean isHotReload() {
+        return hotReload;
+    }
+
+    /**
+     * Check the size and the modification time of the file when it's read from the cache, at most once in
+     * the given interval, and load it again only if one of them is changed.
+     * <p>
+     * The reads between the checks only compare the time, and the reads during a load get the old data.
+     * It's a lighter alternative to {@link #setHotReload(boolean)} for the file systems where watching
+     * is slow or unreliable.
+     *
+     * @param revalidationMillis the minimum time between two checks in milliseconds, 0 to never check
+     * @return the same instance of {@link JSONLoadOptions}
+     */
+    public JSONLoadOptions setRevalidationMillis(long revalidationMillis) {
+        if (revalidationMillis < 0)
+            throw new IllegalArgumentException("The revalidation interval can't be negative");
+
+        this.revalidationMillis = revalidationMillis;
+        return this;
+    }
+
+    /**
+     * @return the minimum time between two checks of the file in milliseconds, 0 if it's never checked
+     */
+    public long getRevalidationMillis() {
+        return revalidationMillis;
+    }
+
+    /**
+     * Keep the parsed documents in a directory that is shared by all the JVMs, and read them instead of parsing
+     * when a file with the same content is loaded again, even after a restart or from another path.
+     * <p>
+     * The documents are stored in the format of {@link #setSnapshot(boolean)} under the hash of the content
+     * of their files, and the least recently used ones are deleted when the directory gets larger than
+     * {@link #setParseCacheMaxBytes(long)}. A document that can't be written doesn't fail the load.
+     * It's used instead of the snapshot if both are enabled, and it's ignored by the lazy mode.
+     * <p>
+     * A cached document is read with its strings already decoded and its keys shared once per document,
+     * so {@link #setInterning(boolean)} and {@link #setStringSlices(boolean)} don't apply to it,
+     * only {@link #setCompact(boolean)} and {@link #setLazyNumbers(boolean)} do.
+     *
+     * @param parseCacheDirectory the directory of the cache, it's created if it doesn't exist, or null to disable it
+     * @return the same instance of {@link JSONLoadOptions}
+     */
+    public JSONLoadOptions setParseCache(String parseCacheDirectory) {
+        if (parseCacheDirectory != null && parseCacheDirectory.isBlank())
+            throw new IllegalArgumentException("The parse cache directory can't be empty");
+
+        this.parseCacheDirectory = parseCacheDirectory;
+        return this;
+    }
+
+    /**
+     * @return the directory of the parse cache, null if it's disabled
+     */
+    public String getParseCache() {
+        return parseCacheDirectory;
+    }
+
+    /**
+     * The maximum size of all the documents in the directory of {@link #setParseCache(String)}, it's 256 MB by default
+     *
+     * @param parseCacheMaxBytes the maximum number of bytes, it should be positive
+     * @return the same instance of {@link JSONLoadOptions}
+     */
+    public JSONLoadOptions setParseCacheMaxBytes(long parseCacheMaxBytes) {
+        if (parseCacheMaxBytes <= 0)
+            throw new IllegalArgumentException("The parse cache size should be positive");
+
+        this.parseCacheMaxBytes = parseCacheMaxBytes;
+        return this;
+    }
+
+    /**
+     * @return the maximum size of the parse cache in bytes
+     */
+    public long getParseCacheMaxBytes() {
+        return parseCacheMaxBytes;
+    }
+}
@@ -0,0 +1,131 @@
+package nsr_json;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.util.Arrays;
+
+import static java.nio.charset.StandardCharsets.ISO_8859_1;
+
+/**
+ * A number that keeps the characters written in the JSON file and decodes them only when its value is asked for.
+ * <p>
+ * Up to 16 characters are packed as 4 bits each into a single long without any array,
+ * so no decoding work is done for the numbers that are never read and the exact value is never lost.
+ */
+public final class JSONNumber extends Number {
+    private static final int MAX_PACKED_LENGTH = 16;
+    private static final String SYMBOLS = "0123456789-+.eE";
+    // The code of the empty places after the last packed character
+    private static final int END = 0xF;
+
+    private final long packed;
+    private final byte[] text;
+
+    private JSONNumber(long packed, byte[] text) {
+        this.packed = packed;
+        this.text = text;
+    }
+
+    /**
+     * Creating a number from its validated characters
+     *
+     * @param chars  the characters of the number
+     * @param length how many characters are used
+     * @return the number
+     */
+    protected static JSONNumber of(byte[] chars, int length) {
+        if (length > MAX_PACKED_LENGTH)
+            return new JSONNumber(0, Arrays.copyOf(chars, length));
+
+        var packed = -1L;
+        for (var i = 0; i < length; i++) {
+            var shift = 60 - i * 4;
+            packed = packed & ~(0xFL << shift) | (long) SYMBOLS.indexOf(chars[i]) << shift;
+        }
+        return new JSONNumber(packed, null);
+    }
+
+    /**
+     * @return how many characters are kept in an array, 0 if they are packed into the long
+     */
+    protected int textLength() {
+        return text == null ? 0 : text.length;
+    }
+
+    /**
+     * @return true if the number is written without a fraction or an exponent
+     */
+    public boolean isIntegral() {
+        return isIntegral(toString());
+    }
+
+    /**
+     * The exact value of the number
+     *
+     * @return the value as {@link BigDecimal}
+     */
+    public BigDecimal bigDecimalValue() {
+        return new BigDecimal(toString());
+    }
+
+    @Override
+    public int intValue() {
+        return (int) longValue();
+    }
+
+    @Override
+    public long longValue() {
+        var value = toString();
+        if (!isIntegral(value))
+            return (long) doubleValue();
+
+        try {
+            return Long.parseLong(value);
+        } catch (NumberFormatException e) {
+            return new BigInteger(value).longValue();
+        }
+    }
+
+    @Override
+    public float floatValue() {
+        return Float.parseFloat(toString());
+    }
+
+    @Override
+    public double doubleValue() {
+        return Double.parseDouble(toString());
+    }
+
+    /**
+     * @return the number as it's written in the JSON file
+     */
+    @Override
+    public String toString() {
+        if (text != null)
+            return new String(text, ISO_8859_1);
+
+        var chars = new char[MAX_PACKED_LENGTH];
+        var length = 0;
+        for (; length < MAX_PACKED_LENGTH; length++) {
+            var code = (int) (packed >>> (60 - length * 4)) & 0xF;
+            if (code == END)
+                break;
+            chars[length] = SYMBOLS.charAt(code);
+        }
+        return new String(chars, 0, length);
+    }
+
+    private static boolean isIntegral(String value) {
+        return value.indexOf('.') == -1 && value.indexOf('e') == -1 && value.indexOf('E') == -1;
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+        return obj instanceof JSONNumber other && packed == other.packed && Arrays.equals(text, other.text);
+    }
+
+    @Override
+    public int hashCode() {
+        return text == null ? Long.hashCode(packed) : Arrays.hashCode(text);
+    }
+}
@@ -0,0 +1,199 @@
+package nsr_json;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Builds a tree of {@link Map}, {@link List} and plain values from the tokens of {@link JSONTokenizer}
+ */
+class JSONParser {
+    private static final int MAX_DEPTH = 1000;
+
+    private final JSONTokenizer tokenizer;
+    private final boolean lazyNumbers;
+    private final StringPool pool;
+    private final int maxPooledValueLength;
+    private final boolean stringSlices;
+    private final CompactNodes nodes;
+
+    protected JSONParser(JSONTokenizer tokenizer) {
+        this(tokenizer, new JSONLoadOptions());
+    }
+
+    /**
+     * Creating a parser that builds the tree as the load options describe
+     *
+     * @param tokenizer the source of the tokens
+     * @param options   the numbers, strings and nodes options
+     */
+    protected JSONParser(JSONTokenizer tokenizer, JSONLoadOptions options) {
+        this.tokenizer = tokenizer;
+        this.lazyNumbers = options.isLazyNumbers();
+        this.pool = options.isInterning() ? StringPool.shared() : null;
+        this.maxPooledValueLength = options.getInternedValueLength();
+        this.stringSlices = options.isStringSlices() && tokenizer.canSliceStrings();
+        this.nodes = options.isCompact() || stringSlices ? new CompactNodes() : null;
+    }
+
+    /**
+     * Parses a whole JSON document from a stream
+     *
+     * @param in the stream to read from, it will not be closed
+     * @return the parsed data as {@link Object}
+     */
+    protected static Object parse(InputStream in) throws IOException {
+        return parse(in, new JSONLoadOptions());
+    }
+
+    /**
+     * Parses a whole JSON document from a stream
+     *
+     * @param in      the stream to read from, it will not be closed
+     * @param options the numbers, strings and nodes options
+     * @return the parsed data as {@link Object}
+     */
+    protected static Object parse(InputStream in, JSONLoadOptions options) throws IOException {
+        return new JSONParser(new JSONTokenizer(in), options).parseDocument();
+    }
+
+    /**
+     * Parses a whole JSON document from the remaining bytes of a buffer
+     *
+     * @param buffer the buffer to read from
+     * @return the parsed data as {@link Object}
+     */
+    protected static Object parse(ByteBuffer buffer) throws IOException {
+        return parse(buffer, new JSONLoadOptions());
+    }
+
+    /**
+     * Parses a whole JSON document from the remaining bytes of a buffer
+     *
+     * @param buffer  the buffer to read from
+     * @param options the numbers, strings and nodes options
+     * @return the parsed data as {@link Object}
+     */
+    protected static Object parse(ByteBuffer buffer, JSONLoadOptions options) throws IOException {
+        return new JSONParser(new JSONTokenizer(buffer), options).parseDocument();
+    }
+
+    /**
+     * Parses a single value and makes sure nothing else is left in the input
+     *
+     * @return the parsed data as {@link Object}
+     */
+    protected Object parseDocument() throws IOException {
+        var value = parseValue(0);
+        tokenizer.expectEnd();
+        return JSONString.materialize(value);
+    }
+
+    /**
+     * Parses the next value
+     *
+     * @param depth how deep the value is nested
+     * @return the parsed value
+     */
+    protected Object parseValue(int depth) throws IOException {
+        if (depth > MAX_DEPTH)
+            throw tokenizer.error("The JSON is nested deeper than [" + MAX_DEPTH + "] levels");
+
+        return switch (tokenizer.peek()) {
+            case '{' -> nodes != null ? parseCompactObject(depth + 1) : parseObject(depth + 1);
+            case '[' -> nodes != null ? parseCompactArray(depth + 1) : parseArray(depth + 1);
+            case '"' -> {
+                tokenizer.next();
+                yield stringSlices ?
+                        tokenizer.readStringSlice() :
+                        tokenizer.readString(pool, maxPooledValueLength);
+            }
+            case '-', '0', '1', '2', '3', '4', '5', '6', '7', '8', '9' -> tokenizer.readNumber(lazyNumbers);
+            case 't', 'f', 'n' -> tokenizer.readLiteral();
+            default -> throw tokenizer.error("Unexpected " + JSONTokenizer.describe(tokenizer.peek()));
+        };
+    }
+
+    private Map<String, Object> parseObject(int depth) throws IOException {
+        var map = new HashMap<String, Object>();
+        tokenizer.expect('{');
+
+        if (tokenizer.peek() == '}') {
+            tokenizer.next();
+            return map;
+        }
+
+        do {
+            tokenizer.expect('"');
+            var key = tokenizer.readString(pool, StringPool.MAX_KEY_LENGTH);
+            tokenizer.expect(':');
+            map.put(key, parseValue(depth));
+        } while (hasNext('}'));
+
+        return map;
+    }
+
+    private List<Object> parseArray(int depth) throws IOException {
+        var list = new ArrayList<>();
+        tokenizer.expect('[');
+
+        if (tokenizer.peek() == ']') {
+            tokenizer.next();
+            return list;
+        }
+
+        do {
+            list.add(parseValue(depth));
+        } while (hasNext(']'));
+
+        return list;
+    }
+
+    private Map<String, Object> parseCompactObject(int depth) throws IOException {
+        var mark = nodes.mark();
+        tokenizer.expect('{');
+
+        if (tokenizer.peek() == '}')
+            tokenizer.next();
+        else
+            do {
+                tokenizer.expect('"');
+                nodes.push(stringSlices ?
+                        tokenizer.readStringSlice() :
+                        tokenizer.readString(pool, StringPool.MAX_KEY_LENGTH));
+                tokenizer.expect(':');
+                nodes.push(parseValue(depth));
+            } while (hasNext('}'));
+
+        return nodes.buildObject(mark);
+    }
+
+    private List<Object> parseCompactArray(int depth) throws IOException {
+        var mark = nodes.mark();
+        tokenizer.expect('[');
+
+        if (tokenizer.peek() == ']')
+            tokenizer.next();
+        else
+            do {
+                nodes.push(parseValue(depth));
+            } while (hasNext(']'));
+
+        return nodes.buildArray(mark);
+    }
+
+    // Consumes the separator after an item, returns false when the closing bracket is reached
+    private boolean hasNext(char closing) throws IOException {
+        var b = tokenizer.next();
+        if (b == ',')
+            return true;
+        if (b == closing)
+            return false;
+
+        throw tokenizer.error("Expected [,] or [" + closing + "] but found " + JSONTokenizer.describe(b));
+    }
+}
@@ -0,0 +1,131 @@
+package nsr_json;
+
+import exception.InvalidKeyException;
+
+import java.util.*;
+
+import static nsr_json.Helper.*;
+
+/**
+ * Extracts a set of keys from a JSON stream in a single pass.
+ * <p>
+ * The keys are merged into a tree of path segments, every subtree that doesn't lead to a wanted key
+ * is skipped without decoding it and the reading stops as soon as all keys are found.
+ * <p>
+ * Because the rest of the document isn't read, a key that is repeated in the same object gets its first value,
+ * while {@link JSONReader} gets the last one. The values are returned as they are in the document,
+ * the environment keys like "key@env" and the "${variable}" references to the "variables" object or the global
+ * variables that {@link JSONReader} replaces are not applied.
+ */
+class JSONPathExtractor {
+    private final Segment root = new Segment();
+    private final Map<String, Object> values = new HashMap<>();
+    private int remaining;
+
+    private JSONPathExtractor(Collection<String> keys) {
+        for (String key : keys) {
+            if (key == null || key.isEmpty())
+                throw new InvalidKeyException();
+
+            var segment = root;
+            for (String part : splitKey.apply(key)) {
+                if (keyHasList.test(part)) {
+                    var name = part.replaceAll(NUMBER_IN_SQUARE_BRACKETS_REGEX, "");
+                    if (!name.isEmpty())
+                        segment = segment.names.computeIfAbsent(name, n -> new Segment());
+                    for (Integer index : getIndexesFromKeyList(part))
+                        segment = segment.indexes.computeIfAbsent(index, i -> new Segment());
+                } else
+                    segment = segment.names.computeIfAbsent(part, n -> new Segment());
+            }
+
+            if (!segment.keys.contains(key)) {
+                segment.keys.add(key);
+                remaining++;
+            }
+        }
+    }
+
+    /**
+     * Reads the wanted keys from the stream, the keys that don't exist are not included in the result
+     *
+     * @param reader the stream of the JSON document
+     * @param keys   the wanted keys using the same syntax of {@link JSONReader#get(String)}
+     * @return the found keys with their values
+     */
+    protected static Map<String, Object> extract(JSONStreamReader reader, Collection<String> keys) {
+        var extractor = new JSONPathExtractor(keys);
+        if (extractor.remaining > 0)
+            extractor.walk(reader, extractor.root);
+
+        return extractor.values;
+    }
+
+    private void walk(JSONStreamReader reader, Segment segment) {
+        if (!segment.keys.isEmpty()) {
+            collect(segment, reader.nextValue());
+            return;
+        }
+
+        switch (reader.peek()) {
+            case BEGIN_OBJECT -> {
+                reader.beginObject();
+                while (remaining > 0 && reader.hasNext()) {
+                    var child = segment.names.get(reader.nextName());
+                    // A repeated key is skipped, so its first value is kept
+                    if (child == null || child.visited)
+                        reader.skipValue();
+                    else {
+                        child.visited = true;
+                        walk(reader, child);
+                    }
+                }
+                if (remaining > 0)
+                    reader.endObject();
+            }
+            case BEGIN_ARRAY -> {
+                reader.beginArray();
+                for (var index = 0; remaining > 0 && reader.hasNext(); index++) {
+                    var child = segment.indexes.get(index);
+                    if (child == null)
+                        reader.skipValue();
+                    else
+                        walk(reader, child);
+                }
+                if (remaining > 0)
+                    reader.endArray();
+            }
+            default -> reader.skipValue();
+        }
+    }
+
+    // Records the keys of a segment and looks for its children inside the already read value
+    private void collect(Segment segment, Object value) {
+        for (String key : segment.keys)
+            if (!values.containsKey(key)) {
+                values.put(key, value);
+                remaining--;
+            }
+
+        if (value instanceof Map<?, ?> map)
+            segment.names.forEach((name, child) -> {
+                if (map.containsKey(name))
+                    collect(child, map.get(name));
+            });
+        else if (value instanceof List<?> list)
+            segment.indexes.forEach((index, child) -> {
+                if (index < list.size())
+                    collect(child, list.get(index));
+            });
+    }
+
+    /**
+     * A step in the path of one or more keys
+     */
+    private static class Segment {
+        private final Map<String, Segment> names = new HashMap<>();
+        private final Map<Integer, Segment> indexes = new HashMap<>();
+        private final List<String> keys = new ArrayList<>(1);
+        private boolean visited;
+    }
+}
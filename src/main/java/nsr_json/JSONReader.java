@@ -2,6 +2,7 @@ package nsr_json;
 
 import exception.InvalidCustomObjectException;
 import exception.InvalidKeyException;
+import exception.NotAListException;
 import exception.NotAMapException;
 
 import java.lang.reflect.Field;
@@ -509,25 +510,51 @@ public class JSONReader {
     }
 
     private Object getValueFromMap(Object obj, String key) {
+        // The environments can't replace a key that already exists, but they rename the keys with "@",
+        // so only the other keys can be read without copying the map
+        if (obj instanceof Map<?, ?> m && (!enableEnv || key.indexOf('@') < 0)) {
+            if (m.containsKey(key))
+                return m.get(key);
+
+            // A missing key is renamed from the key of the first environment that has it
+            var environments = enableEnv ?
+                    ConfigHandler.getInstance().getEnvironments() :
+                    Optional.<List<String>>empty();
+            if (environments.isPresent())
+                for (String environment : environments.get())
+                    if (m.containsKey(key + "@" + environment))
+                        return m.get(key + "@" + environment);
+
+            throw new InvalidKeyException("This key [" + key + "] does not exist in [" + describe(obj) + "]");
+        }
+
         var map = changeEnvIfEnabled(parseObjectToMap(obj, Parse.Object));
 
         if (!map.containsKey(key)) {
-            throw new InvalidKeyException("This key [" + key + "] does not exist in [" + obj + "]");
+            throw new InvalidKeyException("This key [" + key + "] does not exist in [" + describe(obj) + "]");
         }
 
         return map.get(key);
     }
 
     private Object getValueFromList(Object obj, Integer index) {
-        var list = parseObjectToList(obj, Parse.Object);
+        if (!(obj instanceof List<?> list))
+            throw new NotAListException();
 
         if (index >= list.size()) {
-            throw new InvalidKeyException("This index [" + index + "] is out of the boundary of [" + obj + "]");
+            throw new InvalidKeyException("This index [" + index + "] is out of the boundary of [" + describe(obj) + "]");
         }
 
         return list.get(index);
     }
 
+    // The lazy objects and arrays would decode all their values to be printed, so only their kind is shown
+    private static Object describe(Object obj) {
+        if (LazyDocument.isView(obj) || SnapshotDocument.isView(obj))
+            return obj instanceof Map<?, ?> ? "a lazy object" : "a lazy array";
+        return obj;
+    }
+
     private Object changeVariablesIfExist(Object obj) {
         var globalVariables = ConfigHandler.getInstance().getGlobalVariables();
         var stringObj = Parse.String.apply(obj);
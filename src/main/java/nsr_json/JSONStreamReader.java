@@ -0,0 +1,375 @@
+package nsr_json;
+
+import exception.JSONFileException;
+import exception.ParsingException;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Arrays;
+
+/**
+ * A pull reader that walks a JSON document token by token without loading it into the memory.
+ * <p>
+ * Only the current path and a small read buffer are kept, so it can read files larger than the heap.
+ * <pre>{@code
+ * try (var reader = JSON.streamFile("filePath")) {
+ *     reader.beginArray();
+ *     while (reader.hasNext()) {
+ *         var item = reader.nextValue();
+ *     }
+ *     reader.endArray();
+ * }
+ * }</pre>
+ */
+public class JSONStreamReader implements Closeable {
+
+    /**
+     * The kinds of the tokens in a JSON document
+     */
+    public enum Token {
+        BEGIN_OBJECT, END_OBJECT, BEGIN_ARRAY, END_ARRAY, NAME, STRING, NUMBER, BOOLEAN, NULL, END_DOCUMENT
+    }
+
+    // Where the reader is inside the current object, array or the document
+    private static final int EMPTY_DOCUMENT = 0;
+    private static final int NONEMPTY_DOCUMENT = 1;
+    private static final int EMPTY_OBJECT = 2;
+    private static final int DANGLING_NAME = 3;
+    private static final int NONEMPTY_OBJECT = 4;
+    private static final int EMPTY_ARRAY = 5;
+    private static final int NONEMPTY_ARRAY = 6;
+
+    private final InputStream in;
+    private final JSONTokenizer tokenizer;
+    private Token peeked;
+
+    private int[] stack = new int[32];
+    private String[] pathNames = new String[32];
+    private int[] pathIndexes = new int[32];
+    private int depth = 1;
+
+    /**
+     * Creating a stream reader over an {@link InputStream}, closing the reader closes the stream
+     *
+     * @param in the stream of the JSON document
+     */
+    protected JSONStreamReader(InputStream in) {
+        this.in = in;
+        this.tokenizer = new JSONTokenizer(in);
+        this.stack[0] = EMPTY_DOCUMENT;
+    }
+
+    /**
+     * Returns the kind of the next token without consuming it
+     *
+     * @return the next {@link Token}
+     */
+    public Token peek() {
+        if (peeked == null)
+            peeked = read(this::findNextToken);
+
+        return peeked;
+    }
+
+    /**
+     * @return true if the current object or array has more items
+     */
+    public boolean hasNext() {
+        var token = peek();
+        return token != Token.END_OBJECT && token != Token.END_ARRAY && token != Token.END_DOCUMENT;
+    }
+
+    /**
+     * Consumes the opening bracket of an object
+     */
+    public void beginObject() {
+        consume(Token.BEGIN_OBJECT);
+        run(() -> tokenizer.expect('{'));
+        push(EMPTY_OBJECT);
+    }
+
+    /**
+     * Consumes the closing bracket of the current object
+     */
+    public void endObject() {
+        consume(Token.END_OBJECT);
+        run(() -> tokenizer.expect('}'));
+        pop();
+    }
+
+    /**
+     * Consumes the opening bracket of an array
+     */
+    public void beginArray() {
+        consume(Token.BEGIN_ARRAY);
+        run(() -> tokenizer.expect('['));
+        push(EMPTY_ARRAY);
+    }
+
+    /**
+     * Consumes the closing bracket of the current array
+     */
+    public void endArray() {
+        consume(Token.END_ARRAY);
+        run(() -> tokenizer.expect(']'));
+        pop();
+    }
+
+    /**
+     * Consumes the name of the next property in the current object
+     *
+     * @return the name
+     */
+    public String nextName() {
+        consume(Token.NAME);
+        var name = read(() -> {
+            tokenizer.expect('"');
+            var n = tokenizer.readString();
+            tokenizer.expect(':');
+            return n;
+        });
+
+        pathNames[depth - 1] = name;
+        stack[depth - 1] = DANGLING_NAME;
+        return name;
+    }
+
+    /**
+     * Consumes a string value
+     *
+     * @return the string
+     */
+    public String nextString() {
+        consume(Token.STRING);
+        var value = read(() -> {
+            tokenizer.next();
+            return tokenizer.readString();
+        });
+
+        valueConsumed();
+        return value;
+    }
+
+    /**
+     * Consumes a number value
+     *
+     * @return {@link Long}, {@link java.math.BigInteger} for too large integers or {@link Double}
+     */
+    public Number nextNumber() {
+        consume(Token.NUMBER);
+        var value = read(tokenizer::readNumber);
+
+        valueConsumed();
+        return value;
+    }
+
+    /**
+     * Consumes a boolean value
+     *
+     * @return the boolean
+     */
+    public boolean nextBoolean() {
+        consume(Token.BOOLEAN);
+        var value = read(tokenizer::readLiteral);
+
+        valueConsumed();
+        return value;
+    }
+
+    /**
+     * Consumes a null value
+     */
+    public void nextNull() {
+        consume(Token.NULL);
+        run(tokenizer::readLiteral);
+
+        valueConsumed();
+    }
+
+    /**
+     * Consumes the next value, objects and arrays are read with all of their children
+     * as {@link java.util.Map} and {@link java.util.List}
+     *
+     * @return the value
+     */
+    public Object nextValue() {
+        var token = peek();
+        if (token == Token.NAME || token == Token.END_OBJECT || token == Token.END_ARRAY || token == Token.END_DOCUMENT)
+            throw unexpected("a value", token);
+
+        peeked = null;
+        var value = read(() -> new JSONParser(tokenizer).parseValue(0));
+
+        valueConsumed();
+        return value;
+    }
+
+    /**
+     * Skips the next value with all of its children without decoding them.
+     * If the next token is a property name it skips the name and its value.
+     */
+    public void skipValue() {
+        var token = peek();
+        if (token == Token.NAME)
+            nextName();
+        else if (token == Token.END_OBJECT || token == Token.END_ARRAY || token == Token.END_DOCUMENT)
+            throw unexpected("a value", token);
+
+        peeked = null;
+        run(tokenizer::skipValue);
+
+        valueConsumed();
+    }
+
+    /**
+     * The path of the current position using the same syntax of {@link JSONReader#get(String)} keys
+     *
+     * @return the path like "key1.key2[0]" or an empty string at the root
+     */
+    public String getPath() {
+        var path = new StringBuilder();
+        for (var i = 1; i < depth; i++) {
+            switch (stack[i]) {
+                case EMPTY_ARRAY, NONEMPTY_ARRAY -> path.append('[').append(pathIndexes[i]).append(']');
+                case DANGLING_NAME, NONEMPTY_OBJECT -> {
+                    if (pathNames[i] != null) {
+                        if (!path.isEmpty())
+                            path.append('.');
+                        path.append(pathNames[i]);
+                    }
+                }
+                default -> {
+                }
+            }
+        }
+        return path.toString();
+    }
+
+    /**
+     * Closes the underlying stream
+     */
+    @Override
+    public void close() {
+        try {
+            in.close();
+        } catch (IOException e) {
+            throw new JSONFileException("Can't close the JSON stream", e);
+        }
+    }
+
+    private Token findNextToken() throws IOException {
+        var top = stack[depth - 1];
+        int c;
+
+        switch (top) {
+            case EMPTY_ARRAY, NONEMPTY_ARRAY -> {
+                c = tokenizer.peek();
+                if (c == ']')
+                    return Token.END_ARRAY;
+                if (top == NONEMPTY_ARRAY) {
+                    tokenizer.expect(',');
+                    c = tokenizer.peek();
+                }
+                stack[depth - 1] = NONEMPTY_ARRAY;
+            }
+            case EMPTY_OBJECT, NONEMPTY_OBJECT -> {
+                c = tokenizer.peek();
+                if (c == '}')
+                    return Token.END_OBJECT;
+                if (top == NONEMPTY_OBJECT) {
+                    tokenizer.expect(',');
+                    c = tokenizer.peek();
+                }
+                if (c != '"')
+                    throw tokenizer.error("Expected a property name but found " + JSONTokenizer.describe(c));
+                stack[depth - 1] = NONEMPTY_OBJECT;
+                return Token.NAME;
+            }
+            case DANGLING_NAME -> c = tokenizer.peek();
+            case EMPTY_DOCUMENT -> {
+                c = tokenizer.peek();
+                stack[depth - 1] = NONEMPTY_DOCUMENT;
+            }
+            default -> {
+                tokenizer.expectEnd();
+                return Token.END_DOCUMENT;
+            }
+        }
+
+        return switch (c) {
+            case '{' -> Token.BEGIN_OBJECT;
+            case '[' -> Token.BEGIN_ARRAY;
+            case '"' -> Token.STRING;
+            case 't', 'f' -> Token.BOOLEAN;
+            case 'n' -> Token.NULL;
+            case '-', '0', '1', '2', '3', '4', '5', '6', '7', '8', '9' -> Token.NUMBER;
+            default -> throw tokenizer.error("Unexpected " + JSONTokenizer.describe(c));
+        };
+    }
+
+    private void consume(Token expected) {
+        var token = peek();
+        if (token != expected)
+            throw unexpected(expected.name(), token);
+
+        peeked = null;
+    }
+
+    private void push(int context) {
+        if (depth == stack.length) {
+            stack = Arrays.copyOf(stack, depth * 2);
+            pathNames = Arrays.copyOf(pathNames, depth * 2);
+            pathIndexes = Arrays.copyOf(pathIndexes, depth * 2);
+        }
+        stack[depth] = context;
+        pathNames[depth] = null;
+        pathIndexes[depth] = 0;
+        depth++;
+    }
+
+    private void pop() {
+        depth--;
+        valueConsumed();
+    }
+
+    // Moves to the next item after a whole value is read
+    private void valueConsumed() {
+        var top = stack[depth - 1];
+        if (top == DANGLING_NAME)
+            stack[depth - 1] = NONEMPTY_OBJECT;
+        else if (top == NONEMPTY_ARRAY)
+            pathIndexes[depth - 1]++;
+    }
+
+    private ParsingException unexpected(String expected, Token found) {
+        return new ParsingException("Expected " + expected + " but found " + found +
+                " at [" + getPath() + "] position [" + tokenizer.position() + "]");
+    }
+
+    private <T> T read(IORead<T> read) {
+        try {
+            return read.read();
+        } catch (IOException e) {
+            throw new JSONFileException("Can't read the JSON stream", e);
+        }
+    }
+
+    private void run(IORun run) {
+        try {
+            run.run();
+        } catch (IOException e) {
+            throw new JSONFileException("Can't read the JSON stream", e);
+        }
+    }
+
+    @FunctionalInterface
+    private interface IORead<T> {
+        T read() throws IOException;
+    }
+
+    @FunctionalInterface
+    private interface IORun {
+        void run() throws IOException;
+    }
+}
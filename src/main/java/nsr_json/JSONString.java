@@ -0,0 +1,127 @@
+package nsr_json;
+
+import exception.ParsingException;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+/**
+ * A string value that is still a slice of the UTF-8 bytes of the document.
+ * <p>
+ * It's kept inside the compact nodes and turned into a {@link String} only when it's read. The keys are kept as
+ * slices too, the slices without escapes are compared byte by byte with each other and with the looked up keys,
+ * and the ASCII ones have the same hash code of their {@link String}.
+ */
+class JSONString {
+    private final ByteBuffer source;
+    private final int offset;
+    private final int length;
+    private final boolean escaped;
+
+    /**
+     * Creating a string from a range of the document
+     *
+     * @param source  the document
+     * @param offset  the index of the first byte after the opening quote
+     * @param length  the number of bytes before the closing quote
+     * @param escaped true if the string has escapes
+     */
+    protected JSONString(ByteBuffer source, int offset, int length, boolean escaped) {
+        this.source = source;
+        this.offset = offset;
+        this.length = length;
+        this.escaped = escaped;
+    }
+
+    /**
+     * Turns a {@link JSONString} into a {@link String} and returns the other values as they are
+     *
+     * @param value any value of the document
+     * @return the value to be returned to the users
+     */
+    protected static Object materialize(Object value) {
+        return value instanceof JSONString string ? string.toString() : value;
+    }
+
+    /**
+     * @return true if the string has escapes that need to be decoded
+     */
+    protected boolean hasEscapes() {
+        return escaped;
+    }
+
+    /**
+     * Compares the string with a {@link String} without decoding it if it has no escapes and is ASCII
+     *
+     * @param value the string to compare with
+     * @return true if the decoded string is equal to the value
+     */
+    protected boolean contentEquals(String value) {
+        if (escaped)
+            return toString().equals(value);
+
+        for (var i = 0; i < length; i++) {
+            var b = source.get(offset + i);
+            if (b < 0)
+                return toString().equals(value);
+            if (i >= value.length() || value.charAt(i) != b)
+                return false;
+        }
+        return length == value.length();
+    }
+
+    /**
+     * Decodes the string
+     *
+     * @return the decoded {@link String}
+     */
+    @Override
+    public String toString() {
+        if (!escaped) {
+            if (source.hasArray())
+                return new String(source.array(), source.arrayOffset() + offset, length, UTF_8);
+
+            var bytes = new byte[length];
+            source.get(offset, bytes);
+            return new String(bytes, UTF_8);
+        }
+
+        // The opening quote is included so a leading byte order mark is not skipped by the tokenizer
+        var tokenizer = new JSONTokenizer(source.slice(offset - 1, length + 2));
+        try {
+            tokenizer.next();
+            return tokenizer.readString();
+        } catch (IOException e) {
+            throw new ParsingException("Can't decode the string at position [" + offset + "]", e);
+        }
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+        if (!(obj instanceof JSONString other))
+            return false;
+        if (escaped || other.escaped)
+            return toString().equals(other.toString());
+
+        return length == other.length &&
+                source.slice(offset, length).equals(other.source.slice(other.offset, other.length));
+    }
+
+    @Override
+    public int hashCode() {
+        if (escaped)
+            return toString().hashCode();
+
+        var hash = 0;
+        for (var i = offset; i < offset + length; i++) {
+            var b = source.get(i);
+            // Only the ASCII strings have the same hash code of their bytes
+            if (b < 0)
+                return toString().hashCode();
+            hash = 31 * hash + b;
+        }
+        return hash;
+    }
+}
@@ -0,0 +1,494 @@
+package nsr_json;
+
+import exception.ParsingException;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.math.BigInteger;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+
+import static java.nio.charset.StandardCharsets.ISO_8859_1;
+
+/**
+ * A byte oriented UTF-8 tokenizer that reads JSON tokens from a buffered byte source
+ */
+class JSONTokenizer {
+    private static final int BUFFER_SIZE = 1 << 16;
+
+    private final InputStream in;
+    private final ByteBuffer source;
+    // The whole input when it's a buffer, to create string slices of it
+    private final ByteBuffer input;
+    private byte[] buf;
+    private int pos;
+    private int limit;
+    // How many bytes were consumed before the current buffer window
+    private long consumed;
+
+    private char[] chars = new char[64];
+    private byte[] digits = new byte[32];
+
+    /**
+     * Creating a tokenizer that reads from an {@link InputStream}
+     *
+     * @param in the stream to read from, it will not be closed by the tokenizer
+     */
+    protected JSONTokenizer(InputStream in) {
+        this.in = in;
+        this.source = null;
+        this.input = null;
+        this.buf = new byte[BUFFER_SIZE];
+        skipByteOrderMark();
+    }
+
+    /**
+     * Creating a tokenizer that reads the remaining bytes of a {@link ByteBuffer}.
+     * If the buffer is backed by an array it will be read in place without copying.
+     *
+     * @param source the buffer to read from
+     */
+    protected JSONTokenizer(ByteBuffer source) {
+        this.in = null;
+        this.input = source.slice();
+        if (source.hasArray()) {
+            this.source = null;
+            this.buf = source.array();
+            this.pos = source.arrayOffset() + source.position();
+            this.limit = source.arrayOffset() + source.limit();
+            this.consumed = -pos;
+        } else {
+            this.source = source.slice();
+            this.buf = new byte[Math.min(BUFFER_SIZE, Math.max(source.remaining(), 1))];
+        }
+        skipByteOrderMark();
+    }
+
+    /**
+     * Returns the next non whitespace byte without consuming it
+     *
+     * @return the next byte or -1 at the end of the input
+     */
+    protected int peek() throws IOException {
+        while (true) {
+            if (pos == limit && !fill())
+                return -1;
+
+            var b = buf[pos];
+            if (b == ' ' || b == '\n' || b == '\r' || b == '\t')
+                pos++;
+            else
+                return b & 0xFF;
+        }
+    }
+
+    /**
+     * Consumes the next non whitespace byte
+     *
+     * @return the consumed byte or -1 at the end of the input
+     */
+    protected int next() throws IOException {
+        var b = peek();
+        if (b != -1)
+            pos++;
+        return b;
+    }
+
+    /**
+     * Consumes the next non whitespace byte and fails if it's not the expected one
+     *
+     * @param expected the expected byte
+     */
+    protected void expect(char expected) throws IOException {
+        var b = next();
+        if (b != expected)
+            throw error("Expected [" + expected + "] but found " + describe(b));
+    }
+
+    /**
+     * Fails if there is anything other than whitespaces left in the input
+     */
+    protected void expectEnd() throws IOException {
+        var b = peek();
+        if (b != -1)
+            throw error("Unexpected " + describe(b) + " after the end of the JSON value");
+    }
+
+    /**
+     * Reads a string, the opening quote must be already consumed
+     *
+     * @return the decoded string
+     */
+    protected String readString() throws IOException {
+        return readString(null, 0);
+    }
+
+    /**
+     * Reads a string and takes it from the pool if it's short enough, the opening quote must be already consumed
+     *
+     * @param pool            the pool of the strings or null to create a new string
+     * @param maxPooledLength the longest string to be taken from the pool
+     * @return the decoded string
+     */
+    protected String readString(StringPool pool, int maxPooledLength) throws IOException {
+        var start = pos;
+        for (var i = start; i < limit; i++) {
+            var b = buf[i];
+            if (b == '"') {
+                pos = i + 1;
+                var length = i - start;
+                return pool != null && length <= maxPooledLength ?
+                        pool.intern(buf, start, length) :
+                        new String(buf, start, length, ISO_8859_1);
+            }
+            // Escapes and multibyte characters are handled by the slow path
+            if (b == '\\' || b < 0)
+                break;
+        }
+
+        var value = readStringSlowly();
+        return pool != null && value.length() <= maxPooledLength ? pool.intern(value) : value;
+    }
+
+    /**
+     * @return true if the input is a buffer, so the strings can be read as slices of it
+     */
+    protected boolean canSliceStrings() {
+        return input != null;
+    }
+
+    /**
+     * Reads a string as a slice of the input without decoding it, the opening quote must be already consumed.
+     * The escapes are validated but they are decoded only when the slice is turned into a {@link String}.
+     *
+     * @return the slice of the string
+     */
+    protected JSONString readStringSlice() throws IOException {
+        var start = position();
+        var escaped = false;
+
+        while (true) {
+            var b = readByte();
+            if (b == '"')
+                break;
+            if (b == '\\') {
+                escaped = true;
+                readEscape();
+            }
+        }
+
+        return new JSONString(input, (int) start, (int) (position() - 1 - start), escaped);
+    }
+
+    /**
+     * Skips a string without decoding it, the opening quote must be already consumed
+     */
+    protected void skipString() throws IOException {
+        while (true) {
+            var b = readByte();
+            if (b == '"')
+                return;
+            if (b == '\\')
+                readByte();
+        }
+    }
+
+    /**
+     * Reads a number as {@link Long}, {@link BigInteger} for too large integers or {@link Double}
+     *
+     * @return the parsed number
+     */
+    protected Number readNumber() throws IOException {
+        return readNumber(false);
+    }
+
+    /**
+     * Reads a number, the decimals and the too large integers can be kept as {@link JSONNumber}
+     * to be decoded only when they are read
+     *
+     * @param lazyNumbers true to keep the decimals and the too large integers undecoded
+     * @return the parsed number
+     */
+    protected Number readNumber(boolean lazyNumbers) throws IOException {
+        var length = scanNumber();
+        var negative = digits[0] == '-';
+        var i = negative ? 1 : 0;
+        var value = 0L;
+
+        if (i == length)
+            throw error("Invalid number [" + new String(digits, 0, length, ISO_8859_1) + "]");
+
+        for (; i < length; i++) {
+            var d = digits[i] - '0';
+            if (d < 0 || d > 9)
+                return lazyNumbers ? readLazyNumber(length) : readDecimal(length);
+            // Accumulating as a negative value to be able to represent Long.MIN_VALUE
+            if (value < (Long.MIN_VALUE + d) / 10)
+                return readBigInteger(length, lazyNumbers);
+            value = value * 10 - d;
+        }
+
+        if (!negative) {
+            if (value == Long.MIN_VALUE)
+                return readBigInteger(length, lazyNumbers);
+            value = -value;
+        }
+
+        return value;
+    }
+
+    /**
+     * Reads one of the literals true, false or null, the first letter must not be consumed
+     *
+     * @return {@link Boolean} or null
+     */
+    protected Boolean readLiteral() throws IOException {
+        var b = next();
+        return switch (b) {
+            case 't' -> {
+                expectLetters("rue");
+                yield Boolean.TRUE;
+            }
+            case 'f' -> {
+                expectLetters("alse");
+                yield Boolean.FALSE;
+            }
+            case 'n' -> {
+                expectLetters("ull");
+                yield null;
+            }
+            default -> throw error("Unexpected " + describe(b));
+        };
+    }
+
+    /**
+     * Skips the next value with all of its children without building anything
+     */
+    protected void skipValue() throws IOException {
+        var depth = 0;
+        do {
+            var b = next();
+            switch (b) {
+                case '{', '[' -> depth++;
+                case '}', ']' -> {
+                    if (--depth < 0)
+                        throw error("Unexpected character [" + (char) b + "]");
+                }
+                case '"' -> skipString();
+                case ',', ':' -> {
+                }
+                case -1 -> throw error("Unexpected end of the input");
+                default -> {
+                    pos--;
+                    if (b == 't' || b == 'f' || b == 'n')
+                        readLiteral();
+                    else
+                        scanNumber();
+                }
+            }
+        } while (depth > 0);
+    }
+
+    /**
+     * The position of the next byte to be read, starting from the beginning of the input
+     *
+     * @return the position in bytes
+     */
+    protected long position() {
+        return consumed + pos;
+    }
+
+    /**
+     * Creates a {@link ParsingException} that refers to the current position
+     *
+     * @param message what went wrong
+     * @return the exception to be thrown
+     */
+    protected ParsingException error(String message) {
+        return new ParsingException(message + " at position [" + position() + "]");
+    }
+
+    /**
+     * A readable description of a byte to be used in the error messages
+     *
+     * @param b the byte or -1 for the end of the input
+     * @return the description
+     */
+    protected static String describe(int b) {
+        return b == -1 ? "end of the input" : "character [" + (char) b + "]";
+    }
+
+    private Number readDecimal(int length) {
+        var text = new String(digits, 0, length, ISO_8859_1);
+        try {
+            return Double.valueOf(text);
+        } catch (NumberFormatException e) {
+            throw error("Invalid number [" + text + "]");
+        }
+    }
+
+    private Number readBigInteger(int length, boolean lazyNumbers) {
+        if (lazyNumbers)
+            return readLazyNumber(length);
+
+        return new BigInteger(new String(digits, 0, length, ISO_8859_1));
+    }
+
+    // Validates the number the same way Double.valueOf does without decoding it
+    private Number readLazyNumber(int length) {
+        var i = digits[0] == '-' ? 1 : 0;
+        var integerDigits = countDigits(i, length);
+        i += integerDigits;
+
+        var fractionDigits = 0;
+        if (i < length && digits[i] == '.') {
+            fractionDigits = countDigits(++i, length);
+            i += fractionDigits;
+        }
+
+        var valid = integerDigits + fractionDigits > 0;
+        if (valid && i < length && (digits[i] == 'e' || digits[i] == 'E')) {
+            if (++i < length && (digits[i] == '-' || digits[i] == '+'))
+                i++;
+            var exponentDigits = countDigits(i, length);
+            valid = exponentDigits > 0;
+            i += exponentDigits;
+        }
+
+        if (!valid || i != length)
+            throw error("Invalid number [" + new String(digits, 0, length, ISO_8859_1) + "]");
+
+        return JSONNumber.of(digits, length);
+    }
+
+    private int countDigits(int from, int length) {
+        var i = from;
+        while (i < length && digits[i] >= '0' && digits[i] <= '9')
+            i++;
+        return i - from;
+    }
+
+    // Copies the number characters into digits and returns their count
+    private int scanNumber() throws IOException {
+        var length = 0;
+        while (true) {
+            if (pos == limit && !fill())
+                break;
+
+            var b = buf[pos];
+            if ((b >= '0' && b <= '9') || b == '-' || b == '+' || b == '.' || b == 'e' || b == 'E') {
+                if (length == digits.length)
+                    digits = Arrays.copyOf(digits, length * 2);
+                digits[length++] = b;
+                pos++;
+            } else
+                break;
+        }
+
+        if (length == 0)
+            throw error("Unexpected " + describe(peek()));
+
+        return length;
+    }
+
+    private String readStringSlowly() throws IOException {
+        var length = 0;
+
+        while (true) {
+            var b = readByte();
+            if (b == '"')
+                break;
+
+            if (length + 2 > chars.length)
+                chars = Arrays.copyOf(chars, chars.length * 2);
+
+            if (b == '\\')
+                chars[length++] = readEscape();
+            else if (b < 0x80)
+                chars[length++] = (char) b;
+            else if ((b & 0xE0) == 0xC0)
+                chars[length++] = (char) (((b & 0x1F) << 6) | continuation());
+            else if ((b & 0xF0) == 0xE0)
+                chars[length++] = (char) (((b & 0x0F) << 12) | (continuation() << 6) | continuation());
+            else if ((b & 0xF8) == 0xF0) {
+                var codePoint = ((b & 0x07) << 18) | (continuation() << 12) | (continuation() << 6) | continuation();
+                length += Character.toChars(codePoint, chars, length);
+            } else
+                chars[length++] = '�';
+        }
+
+        return new String(chars, 0, length);
+    }
+
+    private char readEscape() throws IOException {
+        var b = readByte();
+        return switch (b) {
+            case '"', '\\', '/' -> (char) b;
+            case 'b' -> '\b';
+            case 'f' -> '\f';
+            case 'n' -> '\n';
+            case 'r' -> '\r';
+            case 't' -> '\t';
+            case 'u' -> {
+                var c = 0;
+                for (var i = 0; i < 4; i++) {
+                    var digit = Character.digit(readByte(), 16);
+                    if (digit == -1)
+                        throw error("Invalid unicode escape");
+                    c = (c << 4) | digit;
+                }
+                yield (char) c;
+            }
+            default -> throw error("Invalid escape [\\" + (char) b + "]");
+        };
+    }
+
+    private int continuation() throws IOException {
+        return readByte() & 0x3F;
+    }
+
+    private void expectLetters(String letters) throws IOException {
+        for (var i = 0; i < letters.length(); i++) {
+            var b = pos < limit ? buf[pos++] & 0xFF : readByte();
+            if (b != letters.charAt(i))
+                throw error("Unexpected character [" + (char) b + "]");
+        }
+    }
+
+    // Reads a single byte inside a token, reaching the end of the input here is an error
+    private int readByte() throws IOException {
+        if (pos == limit && !fill())
+            throw error("Unexpected end of the input");
+
+        return buf[pos++] & 0xFF;
+    }
+
+    private boolean fill() throws IOException {
+        var n = 0;
+        if (in != null)
+            n = in.read(buf, 0, buf.length);
+        else if (source != null && source.hasRemaining()) {
+            n = Math.min(buf.length, source.remaining());
+            source.get(buf, 0, n);
+        }
+
+        if (n <= 0)
+            return false;
+
+        consumed += limit;
+        pos = 0;
+        limit = n;
+        return true;
+    }
+
+    private void skipByteOrderMark() {
+        try {
+            if (pos == limit && !fill())
+                return;
+            if (limit - pos >= 3 && buf[pos] == (byte) 0xEF && buf[pos + 1] == (byte) 0xBB && buf[pos + 2] == (byte) 0xBF)
+                pos += 3;
+        } catch (IOException ignore) {
+            // It will be reported again on the first read
+        }
+    }
+}
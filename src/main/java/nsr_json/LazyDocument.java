@@ -0,0 +1,286 @@
+package nsr_json;
+
+import exception.ParsingException;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.*;
+
+/**
+ * A JSON document that is decoded on demand using its {@link StructuralIndex}.
+ * <p>
+ * Objects and arrays are exposed as read only {@link Map} and {@link List} views over the raw bytes,
+ * a value is decoded the first time it's accessed and then kept in its parent view.
+ */
+class LazyDocument {
+    // Marks a value that is not decoded yet, null can't be used because it's a valid JSON value
+    private static final Object NOT_DECODED = new Object();
+
+    private final ByteBuffer bytes;
+    private final StructuralIndex index;
+
+    private LazyDocument(ByteBuffer bytes, StructuralIndex index) {
+        this.bytes = bytes;
+        this.index = index;
+    }
+
+    /**
+     * Indexes the document and returns its root value without decoding its children
+     *
+     * @param bytes the JSON document
+     * @return a lazy {@link Map} or {@link List} view, or the value itself if the root is not an object or an array
+     */
+    protected static Object parse(ByteBuffer bytes) {
+        return parse(bytes, false);
+    }
+
+    /**
+     * Indexes the document and returns its root value without decoding its children
+     *
+     * @param bytes      the JSON document
+     * @param vectorized true to build the index using the Vector API if it's available
+     * @return a lazy {@link Map} or {@link List} view, or the value itself if the root is not an object or an array
+     */
+    protected static Object parse(ByteBuffer bytes, boolean vectorized) {
+        var document = new LazyDocument(bytes.slice(), StructuralIndex.build(bytes, vectorized));
+
+        if (document.next(0) != document.index.size())
+            throw document.error("Unexpected content after the end of the JSON value", document.next(0));
+        document.checkCommas();
+
+        return document.valueAt(0);
+    }
+
+    // A comma must be between two values, the eager parser rejects the leading, doubled and trailing ones
+    private void checkCommas() {
+        for (var i = 0; i < index.size(); i++) {
+            var b = byteAt(i);
+            if (b != ',' && b != '{' && b != '[')
+                continue;
+
+            var following = i + 1 < index.size() ? byteAt(i + 1) : -1;
+            if (following == ',' || b == ',' && (following == '}' || following == ']'))
+                throw error("Unexpected character [" + (char) following + "]", i + 1);
+        }
+    }
+
+    /**
+     * @param value any value of a document
+     * @return true if the value is a lazy object or array that decodes its values when they are read
+     */
+    protected static boolean isView(Object value) {
+        return value instanceof LazyMap || value instanceof LazyList;
+    }
+
+    private Object valueAt(int i) {
+        return switch (byteAt(i)) {
+            case '{' -> new LazyMap(i);
+            case '[' -> new LazyList(i);
+            case '}', ']', ':', ',' -> throw error("Unexpected character [" + (char) byteAt(i) + "]", i);
+            default -> decode(i);
+        };
+    }
+
+    // Decodes a string, number or literal using the bytes between it and the next structural byte
+    private Object decode(int i) {
+        var from = index.position(i);
+        var to = i + 1 < index.size() ? index.position(i + 1) : bytes.limit();
+
+        try {
+            return new JSONParser(new JSONTokenizer(bytes.slice(from, to - from))).parseDocument();
+        } catch (IOException e) {
+            throw new ParsingException(e);
+        } catch (ParsingException e) {
+            throw new ParsingException("Invalid value at position [" + from + "]", e);
+        }
+    }
+
+    // The index of the structural byte that comes right after the value at i
+    private int next(int i) {
+        var b = byteAt(i);
+        return b == '{' || b == '[' ? index.match(i) + 1 : i + 1;
+    }
+
+    private int byteAt(int i) {
+        if (i >= index.size())
+            throw new ParsingException("Unexpected end of the JSON document");
+
+        return bytes.get(index.position(i)) & 0xFF;
+    }
+
+    private void expect(int i, char expected) {
+        if (byteAt(i) != expected)
+            throw error("Expected [" + expected + "] but found [" + (char) byteAt(i) + "]", i);
+    }
+
+    private ParsingException error(String message, int i) {
+        var position = i < index.size() ? index.position(i) : bytes.limit();
+        return new ParsingException(message + " at position [" + position + "]");
+    }
+
+    // Counts the items between two brackets, every item is skipped starting from its value
+    private int countItems(int start, int end, int valueOffset) {
+        var count = 0;
+        for (var i = start + 1; i < end; count++) {
+            i = next(i + valueOffset);
+            if (i < end)
+                expect(i++, ',');
+        }
+        return count;
+    }
+
+    private Object[] newValues(int size) {
+        var values = new Object[size];
+        Arrays.fill(values, NOT_DECODED);
+        return values;
+    }
+
+    /**
+     * A read only {@link Map} view over a JSON object, its keys are decoded on the first access
+     */
+    final class LazyMap extends AbstractMap<String, Object> {
+        private final int start;
+        private volatile Members members;
+
+        private LazyMap(int start) {
+            this.start = start;
+        }
+
+        @Override
+        public Object get(Object key) {
+            var m = members();
+            var slot = m.slots.get(key);
+            return slot == null ? null : m.value(slot);
+        }
+
+        @Override
+        public boolean containsKey(Object key) {
+            return members().slots.containsKey(key);
+        }
+
+        @Override
+        public int size() {
+            return members().slots.size();
+        }
+
+        @Override
+        public Set<Entry<String, Object>> entrySet() {
+            var m = members();
+            return new AbstractSet<>() {
+                @Override
+                public Iterator<Entry<String, Object>> iterator() {
+                    var slots = m.slots.values().iterator();
+                    return new Iterator<>() {
+                        @Override
+                        public boolean hasNext() {
+                            return slots.hasNext();
+                        }
+
+                        @Override
+                        public Entry<String, Object> next() {
+                            int slot = slots.next();
+                            return new SimpleImmutableEntry<>(m.keys[slot], m.value(slot));
+                        }
+                    };
+                }
+
+                @Override
+                public int size() {
+                    return m.slots.size();
+                }
+            };
+        }
+
+        private Members members() {
+            var m = members;
+            if (m == null)
+                members = m = new Members(start);
+            return m;
+        }
+    }
+
+    /**
+     * The keys of an object with the indexes of their values
+     */
+    private final class Members {
+        private final String[] keys;
+        private final int[] valueIndexes;
+        private final Object[] values;
+        // The slot of every key, the last one wins if a key is duplicated
+        private final Map<String, Integer> slots;
+
+        private Members(int start) {
+            var end = index.match(start);
+            var count = countItems(start, end, 2);
+
+            this.keys = new String[count];
+            this.valueIndexes = new int[count];
+            this.values = newValues(count);
+            this.slots = new LinkedHashMap<>();
+
+            for (int i = start + 1, slot = 0; slot < count; slot++) {
+                if (byteAt(i) != '"')
+                    throw error("Expected a key but found [" + (char) byteAt(i) + "]", i);
+                expect(i + 1, ':');
+
+                keys[slot] = (String) decode(i);
+                valueIndexes[slot] = i + 2;
+                slots.put(keys[slot], slot);
+                i = next(i + 2) + 1;
+            }
+        }
+
+        private Object value(int slot) {
+            var value = values[slot];
+            if (value == NOT_DECODED)
+                values[slot] = value = valueAt(valueIndexes[slot]);
+            return value;
+        }
+    }
+
+    /**
+     * A read only {@link List} view over a JSON array, the positions of its items are found on the first access
+     */
+    final class LazyList extends AbstractList<Object> implements RandomAccess {
+        private final int start;
+        private volatile int[] itemIndexes;
+        private volatile Object[] values;
+
+        private LazyList(int start) {
+            this.start = start;
+        }
+
+        @Override
+        public Object get(int i) {
+            var items = items();
+            Objects.checkIndex(i, items.length);
+
+            var value = values[i];
+            if (value == NOT_DECODED)
+                values[i] = value = valueAt(items[i]);
+            return value;
+        }
+
+        @Override
+        public int size() {
+            return items().length;
+        }
+
+        private int[] items() {
+            var items = itemIndexes;
+            if (items == null) {
+                var end = index.match(start);
+                items = new int[countItems(start, end, 0)];
+
+                for (int i = start + 1, item = 0; item < items.length; item++) {
+                    items[item] = i;
+                    i = next(i) + 1;
+                }
+
+                values = newValues(items.length);
+                itemIndexes = items;
+            }
+            return items;
+        }
+    }
+}
@@ -0,0 +1,138 @@
+package nsr_json;
+
+import exception.JSONFileException;
+import exception.ParsingException;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Spliterator;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * Reads newline delimited JSON (JSON Lines) files, every non blank line is a separate JSON document.
+ * <p>
+ * The file is mapped into the memory and split at newline boundaries, the streams are sequential
+ * and a stream that is made parallel by the caller parses the chunks on the fork join pool.
+ */
+class NDJSONReader {
+    // A chunk smaller than this is parsed by a single thread
+    private static final int MIN_CHUNK_SIZE = 1 << 16;
+
+    private NDJSONReader() {
+    }
+
+    /**
+     * Maps the file and streams its records
+     *
+     * @param filePath the path of the file as it is
+     * @return a sequential {@link Stream} of the records as {@link java.util.Map}, {@link java.util.List} or values
+     */
+    protected static Stream<Object> records(String filePath) {
+        ByteBuffer bytes;
+        try (var channel = FileChannel.open(Path.of(filePath), StandardOpenOption.READ)) {
+            var size = channel.size();
+            if (size > Integer.MAX_VALUE)
+                throw new JSONFileException("Can't map this file [" + filePath + "] it's larger than 2 GB");
+
+            bytes = channel.map(FileChannel.MapMode.READ_ONLY, 0, size);
+        } catch (IOException e) {
+            throw new JSONFileException("Can't load this file [" + filePath + "]", e);
+        }
+
+        return records(bytes);
+    }
+
+    /**
+     * Streams the records of an in-memory NDJSON document
+     *
+     * @param bytes the NDJSON document
+     * @return a sequential {@link Stream} of the records
+     */
+    protected static Stream<Object> records(ByteBuffer bytes) {
+        var document = bytes.slice();
+        return StreamSupport.stream(new LineSpliterator(document, 0, document.limit()), false);
+    }
+
+    /**
+     * Walks the lines of a range of the document and splits the range at the newline nearest to its middle
+     */
+    private static class LineSpliterator implements Spliterator<Object> {
+        private final ByteBuffer bytes;
+        private int position;
+        private final int end;
+
+        private LineSpliterator(ByteBuffer bytes, int position, int end) {
+            this.bytes = bytes;
+            this.position = position;
+            this.end = end;
+        }
+
+        @Override
+        public boolean tryAdvance(Consumer<? super Object> action) {
+            while (position < end) {
+                var lineStart = position;
+                var lineEnd = lineEnd(lineStart);
+                position = Math.min(lineEnd + 1, end);
+
+                if (!isBlank(lineStart, lineEnd)) {
+                    action.accept(parse(lineStart, lineEnd));
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        @Override
+        public Spliterator<Object> trySplit() {
+            if (end - position < MIN_CHUNK_SIZE * 2)
+                return null;
+
+            var middle = lineEnd(position + (end - position) / 2) + 1;
+            if (middle >= end)
+                return null;
+
+            var prefix = new LineSpliterator(bytes, position, middle);
+            position = middle;
+            return prefix;
+        }
+
+        @Override
+        public long estimateSize() {
+            return end - position;
+        }
+
+        @Override
+        public int characteristics() {
+            return ORDERED | IMMUTABLE;
+        }
+
+        private Object parse(int from, int to) {
+            try {
+                return JSONParser.parse(bytes.slice(from, to - from));
+            } catch (IOException | ParsingException e) {
+                throw new ParsingException("Invalid JSON line at position [" + from + "]", e);
+            }
+        }
+
+        private int lineEnd(int from) {
+            for (var i = from; i < end; i++)
+                if (bytes.get(i) == '\n')
+                    return i;
+            return end;
+        }
+
+        private boolean isBlank(int from, int to) {
+            for (var i = from; i < to; i++) {
+                var b = bytes.get(i);
+                if (b != ' ' && b != '\t' && b != '\r')
+                    return false;
+            }
+            return true;
+        }
+    }
+}
@@ -0,0 +1,198 @@
+package nsr_json;
+
+import exception.ParsingException;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * Parses a document whose root is a large array using all the cores.
+ * <p>
+ * A quick pass finds the commas that separate the top level items,
+ * then ranges of items are parsed concurrently as {@link ForkJoinPool} tasks into a single {@link List}.
+ */
+class ParallelArrayParser {
+    // Smaller documents are not worth splitting
+    private static final int MIN_PARALLEL_SIZE = 1 << 20;
+
+    private final ByteBuffer bytes;
+    private final JSONLoadOptions options;
+    private final Object[] items;
+    private int[] commas = new int[1024];
+    private int count;
+    private int open;
+    private int close;
+
+    private ParallelArrayParser(ByteBuffer bytes, JSONLoadOptions options) {
+        this.bytes = bytes;
+        this.options = options;
+        this.items = findItems() ? new Object[count] : null;
+    }
+
+    /**
+     * Parses the document, if its root is not an array or it's small it will be parsed by the current thread
+     *
+     * @param bytes   the JSON document
+     * @param options the numbers, strings and nodes options
+     * @return the parsed data as {@link Object}
+     */
+    protected static Object parse(ByteBuffer bytes, JSONLoadOptions options) throws IOException {
+        var document = bytes.slice();
+        if (document.limit() < MIN_PARALLEL_SIZE || firstByte(document) != '[')
+            return JSONParser.parse(document, options);
+
+        return new ParallelArrayParser(document, options).parseItems();
+    }
+
+    private Object parseItems() throws IOException {
+        if (count == 0)
+            return options.isCompact() || options.isStringSlices() ? CompactNodes.list(new Object[0], 0, 0) : new ArrayList<>();
+
+        var parallelism = ForkJoinPool.commonPool().getParallelism();
+        var itemsPerTask = Math.max(1, count / (parallelism * 8));
+
+        try {
+            ForkJoinPool.commonPool().invoke(new ParseTask(0, count, itemsPerTask));
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+
+        return options.isCompact() || options.isStringSlices() ?
+                CompactNodes.list(items, 0, count) :
+                new ArrayList<>(Arrays.asList(items));
+    }
+
+    // Finds the top level commas and the brackets of the root array, returns false if the array is empty
+    private boolean findItems() {
+        var length = bytes.limit();
+        var depth = 0;
+        var inString = false;
+        var hasContent = false;
+
+        open = -1;
+        close = -1;
+        for (var i = 0; i < length; i++) {
+            var b = bytes.get(i);
+
+            if (inString) {
+                if (b == '\\')
+                    i++;
+                else if (b == '"')
+                    inString = false;
+                continue;
+            }
+
+            switch (b) {
+                case '"' -> inString = true;
+                case '[', '{' -> {
+                    if (depth++ == 0) {
+                        open = i;
+                        continue;
+                    }
+                }
+                case ']', '}' -> {
+                    if (--depth == 0) {
+                        close = i;
+                        break;
+                    }
+                }
+                case ',' -> {
+                    if (depth == 1) {
+                        if (count == commas.length)
+                            commas = Arrays.copyOf(commas, count * 2);
+                        commas[count++] = i;
+                    }
+                }
+                case ' ', '\n', '\r', '\t' -> {
+                    continue;
+                }
+                default -> {
+                }
+            }
+
+            if (close != -1)
+                break;
+            if (depth >= 1)
+                hasContent = true;
+        }
+
+        if (close == -1)
+            throw new ParsingException("Unclosed array at position [" + open + "]");
+        if (bytes.get(close) != ']')
+            throw new ParsingException("Expected [']'] but found ['}'] at position [" + close + "]");
+        for (var i = close + 1; i < length; i++) {
+            var b = bytes.get(i);
+            if (b != ' ' && b != '\n' && b != '\r' && b != '\t')
+                throw new ParsingException("Unexpected character [" + (char) b + "] after the end of the JSON value at position [" + i + "]");
+        }
+
+        if (hasContent)
+            count++;
+        return hasContent;
+    }
+
+    private int start(int item) {
+        return item == 0 ? open + 1 : commas[item - 1] + 1;
+    }
+
+    private int end(int item) {
+        return item == count - 1 ? close : commas[item];
+    }
+
+    private static int firstByte(ByteBuffer bytes) {
+        var i = StructuralIndex.byteOrderMarkLength(bytes);
+        for (; i < bytes.limit(); i++) {
+            var b = bytes.get(i);
+            if (b != ' ' && b != '\n' && b != '\r' && b != '\t')
+                return b;
+        }
+        return -1;
+    }
+
+    /**
+     * Parses a range of items, splitting it in halves while it's bigger than the wanted size
+     */
+    private class ParseTask extends RecursiveAction {
+        private final int from;
+        private final int to;
+        private final int itemsPerTask;
+
+        private ParseTask(int from, int to, int itemsPerTask) {
+            this.from = from;
+            this.to = to;
+            this.itemsPerTask = itemsPerTask;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from > itemsPerTask) {
+                var middle = (from + to) >>> 1;
+                invokeAll(new ParseTask(from, middle, itemsPerTask), new ParseTask(middle, to, itemsPerTask));
+                return;
+            }
+
+            var rangeStart = start(from);
+            var tokenizer = new JSONTokenizer(bytes.slice(rangeStart, end(to - 1) - rangeStart));
+            var parser = new JSONParser(tokenizer, options);
+
+            try {
+                for (var item = from; item < to; item++) {
+                    if (item > from)
+                        tokenizer.expect(',');
+                    items[item] = parser.parseValue(1);
+                }
+                tokenizer.expectEnd();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            } catch (ParsingException e) {
+                throw new ParsingException("Invalid item in the range from position [" + rangeStart + "]", e);
+            }
+        }
+    }
+}
@@ -178,6 +178,29 @@ public class Parse {
                 return value;
             };
 
+    /**
+     * Parsing {@link Object} to {@link java.math.BigDecimal} without losing the precision of {@link JSONNumber}
+     */
+    public static final Function<Object, java.math.BigDecimal> BigDecimal =
+            obj -> {
+                java.math.BigDecimal value;
+
+                if (obj == null)
+                    value = null;
+                else if (obj instanceof JSONNumber num)
+                    value = num.bigDecimalValue();
+                else if (obj instanceof Number || obj instanceof String)
+                    try {
+                        value = new java.math.BigDecimal(obj.toString());
+                    } catch (NumberFormatException e) {
+                        throw new ParsingException("Can't parse [" + obj + "] to be BigDecimal -- " + e);
+                    }
+                else
+                    throw new ParsingException("Can't parse [" + obj + "] to be BigDecimal");
+
+                return value;
+            };
+
     /**
      * Parsing {@link Object} to {@link String}
      */
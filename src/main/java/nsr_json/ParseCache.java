@@ -0,0 +1,144 @@
+package nsr_json;
+
+import exception.ParsingException;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+
+/**
+ * A directory of parsed documents that is shared by all the JVMs that load the same files.
+ * <p>
+ * Every document is stored in the {@link BinarySnapshot} format under the 64-bit hash and the size of the content
+ * of its file, so the same content is parsed once wherever its file is and whenever it was modified. The hash and
+ * the size are checked again from the header before the document is used. The least recently used documents are
+ * deleted when the directory gets larger than its limit.
+ */
+class ParseCache {
+    private static final long PRIME_1 = 0x9E3779B185EBCA87L;
+    private static final long PRIME_2 = 0xC2B2AE3D27D4EB4FL;
+    private static final long PRIME_3 = 0x165667B19E3779F9L;
+
+    private ParseCache() {
+    }
+
+    /**
+     * Hashes the content of a file in a single pass
+     *
+     * @param content the content of the file
+     * @return the 64-bit hash of the content
+     */
+    protected static long hash(ByteBuffer content) {
+        var buffer = content.duplicate().order(ByteOrder.LITTLE_ENDIAN);
+        var hash = PRIME_3 + buffer.remaining() * PRIME_1;
+
+        while (buffer.remaining() >= 8) {
+            hash ^= Long.rotateLeft(buffer.getLong() * PRIME_2, 31) * PRIME_1;
+            hash = Long.rotateLeft(hash, 27) * PRIME_1 + PRIME_3;
+        }
+        while (buffer.hasRemaining()) {
+            hash ^= (buffer.get() & 0xFF) * PRIME_3;
+            hash = Long.rotateLeft(hash, 11) * PRIME_1;
+        }
+
+        hash = (hash ^ (hash >>> 33)) * PRIME_2;
+        hash = (hash ^ (hash >>> 29)) * PRIME_3;
+        return hash ^ (hash >>> 32);
+    }
+
+    /**
+     * The path of the document of a content, the lazy numbers are stored as they are,
+     * so they are kept apart from the decoded numbers
+     *
+     * @param directory the directory of the cache
+     * @param hash      the hash of the content
+     * @param size      the size of the content
+     * @param options   the numbers option
+     * @return the path of the document in the cache
+     */
+    protected static Path pathOf(Path directory, long hash, long size, JSONLoadOptions options) {
+        var name = String.format("%016x-%x", hash, size) + (options.isLazyNumbers() ? "-n" : "");
+        return directory.resolve(name + BinarySnapshot.EXTENSION);
+    }
+
+    /**
+     * Reads the document of a content and marks it as recently used
+     *
+     * @param path    the path of the document in the cache
+     * @param hash    the hash of the content
+     * @param size    the size of the content
+     * @param options the compact option to build the objects and arrays
+     * @return the document or null if it's not in the cache or it can't be used
+     */
+    protected static Object read(Path path, long hash, long size, JSONLoadOptions options) {
+        try {
+            var snapshot = ByteBuffer.wrap(Files.readAllBytes(path));
+            if (!BinarySnapshot.isFresh(snapshot, size, 0, hash))
+                return null;
+
+            var data = BinarySnapshot.read(snapshot, options);
+            Files.setLastModifiedTime(path, FileTime.fromMillis(System.currentTimeMillis()));
+            return data;
+        } catch (IOException | ParsingException e) {
+            return null;
+        }
+    }
+
+    /**
+     * Writes the document of a content and deletes the least recently used documents over the limit
+     *
+     * @param data     the parsed document
+     * @param path     the path of the document in the cache
+     * @param hash     the hash of the content
+     * @param size     the size of the content
+     * @param maxBytes the maximum size of all the documents in the directory
+     */
+    protected static void write(Object data, Path path, long hash, long size, long maxBytes) throws IOException {
+        Files.createDirectories(path.toAbsolutePath().getParent());
+        BinarySnapshot.write(data, size, 0, hash, path);
+        cleanUp(path.toAbsolutePath().getParent(), maxBytes);
+    }
+
+    /**
+     * Deletes the least recently used documents until the documents of the directory fit in the limit,
+     * the other files of the directory are not touched
+     *
+     * @param directory the directory of the cache
+     * @param maxBytes  the maximum size of all the documents
+     */
+    protected static void cleanUp(Path directory, long maxBytes) throws IOException {
+        var entries = new ArrayList<Entry>();
+        var totalSize = 0L;
+
+        try (var files = Files.newDirectoryStream(directory, "*" + BinarySnapshot.EXTENSION)) {
+            for (var file : files) {
+                try {
+                    var entry = new Entry(file, Files.size(file), Files.getLastModifiedTime(file).toMillis());
+                    entries.add(entry);
+                    totalSize += entry.size();
+                } catch (IOException ignore) {
+                    // Another JVM deleted it
+                }
+            }
+        }
+
+        if (totalSize <= maxBytes)
+            return;
+
+        entries.sort(Comparator.comparingLong(Entry::used));
+        for (var entry : entries) {
+            if (totalSize <= maxBytes)
+                break;
+            if (Files.deleteIfExists(entry.path()))
+                totalSize -= entry.size();
+        }
+    }
+
+    private record Entry(Path path, long size, long used) {
+    }
+}
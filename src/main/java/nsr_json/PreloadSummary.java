@@ -0,0 +1,54 @@
+package nsr_json;
+
+import java.time.Duration;
+import java.util.Collections;
+import java.util.Map;
+
+/**
+ * The result of preloading the JSON files of a directory
+ */
+public class PreloadSummary {
+    private final Map<String, Duration> loaded;
+    private final Map<String, Exception> failed;
+    private final Duration totalTime;
+
+    protected PreloadSummary(Map<String, Duration> loaded, Map<String, Exception> failed, Duration totalTime) {
+        this.loaded = Collections.unmodifiableMap(loaded);
+        this.failed = Collections.unmodifiableMap(failed);
+        this.totalTime = totalTime;
+    }
+
+    /**
+     * @return the paths of the loaded files and how long every one of them took to load
+     */
+    public Map<String, Duration> getLoaded() {
+        return loaded;
+    }
+
+    /**
+     * @return the paths of the files that could not be loaded and why
+     */
+    public Map<String, Exception> getFailed() {
+        return failed;
+    }
+
+    /**
+     * @return how long the whole directory took to load
+     */
+    public Duration getTotalTime() {
+        return totalTime;
+    }
+
+    /**
+     * @return true if all the matched files are loaded
+     */
+    public boolean isSuccessful() {
+        return failed.isEmpty();
+    }
+
+    @Override
+    public String toString() {
+        return "PreloadSummary{loaded=" + loaded.size() + ", failed=" + failed.size() +
+                ", totalTime=" + totalTime.toMillis() + "ms}";
+    }
+}
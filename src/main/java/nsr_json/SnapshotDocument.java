@@ -0,0 +1,202 @@
+package nsr_json;
+
+import exception.ParsingException;
+
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.util.*;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static nsr_json.BinarySnapshot.*;
+
+/**
+ * Read only views over a {@link BinarySnapshot} that navigate its bytes in place.
+ * <p>
+ * Nothing is decoded or cached on the heap, a key is found by a binary search in the dictionary and then in the
+ * offset table of its object, and a value is decoded every time it's read. When the snapshot is mapped into the
+ * memory, all the processes that read it share the same pages of the OS page cache.
+ */
+class SnapshotDocument {
+    private final ByteBuffer bytes;
+    private final int keyCount;
+
+    private SnapshotDocument(ByteBuffer bytes) {
+        this.bytes = bytes;
+        this.keyCount = keyCount(bytes);
+    }
+
+    /**
+     * Opens the root of a snapshot
+     *
+     * @param snapshot the content of the snapshot, usually mapped from the snapshot file
+     * @return the root as a read only {@link Map}, {@link List} or a value
+     */
+    protected static Object open(ByteBuffer snapshot) {
+        checkFormat(snapshot);
+
+        var document = new SnapshotDocument(snapshot.slice());
+        return document.valueAt(rootOffset(document.bytes));
+    }
+
+    private Object valueAt(int offset) {
+        try {
+            return switch (bytes.get(offset)) {
+                case OBJECT -> new SnapshotMap(offset);
+                case ARRAY -> new SnapshotList(offset);
+                default -> readScalar(bytes, offset);
+            };
+        } catch (BufferUnderflowException | IndexOutOfBoundsException e) {
+            throw new ParsingException("The snapshot is corrupted at position [" + offset + "]", e);
+        }
+    }
+
+    // Finds the id of a key by comparing its UTF-8 bytes with the sorted dictionary
+    private int keyId(String key) {
+        var utf8 = ByteBuffer.wrap(key.getBytes(UTF_8));
+        var low = 0;
+        var high = keyCount - 1;
+
+        while (low <= high) {
+            var middle = (low + high) >>> 1;
+            var offset = keyOffset(bytes, middle);
+            var stored = bytes.slice(offset + 4, bytes.getInt(offset));
+            var comparison = compareUnsigned(stored, utf8);
+
+            if (comparison < 0)
+                low = middle + 1;
+            else if (comparison > 0)
+                high = middle - 1;
+            else
+                return middle;
+        }
+        return -1;
+    }
+
+    private static int compareUnsigned(ByteBuffer first, ByteBuffer second) {
+        var mismatch = first.mismatch(second);
+        if (mismatch == -1)
+            return 0;
+        if (mismatch == first.limit() || mismatch == second.limit())
+            return first.limit() - second.limit();
+        return Byte.compareUnsigned(first.get(mismatch), second.get(mismatch));
+    }
+
+    /**
+     * @param value any value of a document
+     * @return true if the value is an object or an array of a snapshot that decodes its values when they are read
+     */
+    protected static boolean isView(Object value) {
+        return value instanceof SnapshotMap || value instanceof SnapshotList;
+    }
+
+    /**
+     * A read only object, its entries are sorted by the key ids
+     */
+    private class SnapshotMap extends AbstractMap<String, Object> {
+        private final int count;
+        private final int table;
+
+        private SnapshotMap(int offset) {
+            this.count = bytes.getInt(offset + 1);
+            this.table = offset + 5;
+        }
+
+        // Returns the offset of the value of a key or -1
+        private int valueOffsetOf(Object key) {
+            if (!(key instanceof String string))
+                return -1;
+
+            var id = keyId(string);
+            if (id < 0)
+                return -1;
+
+            var low = 0;
+            var high = count - 1;
+            while (low <= high) {
+                var middle = (low + high) >>> 1;
+                var middleId = bytes.getInt(table + middle * 8);
+
+                if (middleId < id)
+                    low = middle + 1;
+                else if (middleId > id)
+                    high = middle - 1;
+                else
+                    return bytes.getInt(table + middle * 8 + 4);
+            }
+            return -1;
+        }
+
+        @Override
+        public Object get(Object key) {
+            var offset = valueOffsetOf(key);
+            return offset >= 0 ? valueAt(offset) : null;
+        }
+
+        @Override
+        public boolean containsKey(Object key) {
+            return valueOffsetOf(key) >= 0;
+        }
+
+        @Override
+        public int size() {
+            return count;
+        }
+
+        @Override
+        public Set<Entry<String, Object>> entrySet() {
+            return new AbstractSet<>() {
+                @Override
+                public Iterator<Entry<String, Object>> iterator() {
+                    return new Iterator<>() {
+                        private int index;
+
+                        @Override
+                        public boolean hasNext() {
+                            return index < count;
+                        }
+
+                        @Override
+                        public Entry<String, Object> next() {
+                            if (index >= count)
+                                throw new NoSuchElementException();
+
+                            var key = readString(bytes, keyOffset(bytes, bytes.getInt(table + index * 8)));
+                            var value = valueAt(bytes.getInt(table + index * 8 + 4));
+                            index++;
+                            return new SimpleImmutableEntry<>(key, value);
+                        }
+                    };
+                }
+
+                @Override
+                public int size() {
+                    return count;
+                }
+            };
+        }
+    }
+
+    /**
+     * A read only array
+     */
+    private class SnapshotList extends AbstractList<Object> implements RandomAccess {
+        private final int count;
+        private final int table;
+
+        private SnapshotList(int offset) {
+            this.count = bytes.getInt(offset + 1);
+            this.table = offset + 5;
+        }
+
+        @Override
+        public Object get(int index) {
+            Objects.checkIndex(index, count);
+            return valueAt(bytes.getInt(table + index * 4));
+        }
+
+        @Override
+        public int size() {
+            return count;
+        }
+    }
+}
@@ -0,0 +1,205 @@
+package nsr_json;
+
+import java.util.concurrent.atomic.LongAdder;
+
+import static java.nio.charset.StandardCharsets.ISO_8859_1;
+
+/**
+ * A pool of strings shared by all the loaded documents, so the repeated keys and values are stored once.
+ * <p>
+ * The strings are looked up directly from the bytes of the tokenizer, so a repeated string costs no allocation.
+ * The pool is split into segments that are locked separately to be used by parallel parsing,
+ * and every segment stops growing after it's full, the strings that don't fit are not shared.
+ * The pool holds its strings until it's cleared, which happens when a loaded file is evicted from the cache
+ * or released under heap pressure, so the strings of the dropped files can be collected.
+ */
+class StringPool {
+    private static final StringPool SHARED = new StringPool();
+    private static final int SEGMENTS = 64;
+    private static final int INITIAL_SEGMENT_CAPACITY = 64;
+    private static final int MAX_SEGMENT_CAPACITY = 1 << 15;
+
+    /**
+     * The longest key to be pooled, the longer keys are rarely repeated and are created as new strings
+     */
+    protected static final int MAX_KEY_LENGTH = 64;
+
+    private final Segment[] segments = new Segment[SEGMENTS];
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder savedBytes = new LongAdder();
+
+    private StringPool() {
+        for (var i = 0; i < SEGMENTS; i++)
+            segments[i] = new Segment();
+    }
+
+    /**
+     * @return the pool that is shared by all the documents
+     */
+    protected static StringPool shared() {
+        return SHARED;
+    }
+
+    /**
+     * Returns the pooled string of ASCII bytes, it's added to the pool if it's not found
+     *
+     * @param bytes  the source of the string
+     * @param from   the index of the first byte
+     * @param length the number of bytes, all of them must be ASCII
+     * @return the pooled string
+     */
+    protected String intern(byte[] bytes, int from, int length) {
+        var hash = 0;
+        for (var i = from; i < from + length; i++)
+            hash = 31 * hash + bytes[i];
+
+        return segmentOf(hash).intern(bytes, from, length, hash);
+    }
+
+    /**
+     * Returns the pooled copy of a string, it's added to the pool if it's not found
+     *
+     * @param value the string
+     * @return the pooled string
+     */
+    protected String intern(String value) {
+        var hash = value.hashCode();
+        return segmentOf(hash).intern(value, hash);
+    }
+
+    /**
+     * Removes all the strings from the pool, the statistics are kept
+     */
+    protected void clear() {
+        for (Segment segment : segments)
+            segment.clear();
+    }
+
+    /**
+     * @return a snapshot of the pool statistics
+     */
+    protected StringPoolStats stats() {
+        var entries = 0;
+        for (Segment segment : segments)
+            entries += segment.size();
+
+        return new StringPoolStats(entries, hits.sum(), misses.sum(), savedBytes.sum());
+    }
+
+    private Segment segmentOf(int hash) {
+        return segments[(hash ^ hash >>> 16) & (SEGMENTS - 1)];
+    }
+
+    // The retained size of a string with a compact array, 24 bytes of the object and the aligned array
+    private static long sizeOf(int length, boolean latin1) {
+        var arraySize = 16L + (latin1 ? length : length * 2L);
+        return 24 + (arraySize + 7 & ~7);
+    }
+
+    private static boolean isLatin1(String value) {
+        for (var i = 0; i < value.length(); i++)
+            if (value.charAt(i) > 0xFF)
+                return false;
+        return true;
+    }
+
+    private void hit(long size) {
+        hits.increment();
+        savedBytes.add(size);
+    }
+
+    /**
+     * An open addressing table of strings that is locked as a whole
+     */
+    private class Segment {
+        private String[] table = new String[INITIAL_SEGMENT_CAPACITY];
+        private int size;
+
+        private synchronized String intern(byte[] bytes, int from, int length, int hash) {
+            var mask = table.length - 1;
+            var i = slotOf(hash, mask);
+
+            for (var pooled = table[i]; pooled != null; pooled = table[i = (i + 1) & mask]) {
+                if (pooled.hashCode() == hash && matches(pooled, bytes, from, length)) {
+                    hit(sizeOf(length, true));
+                    return pooled;
+                }
+            }
+
+            misses.increment();
+            var value = new String(bytes, from, length, ISO_8859_1);
+            add(value, i);
+            return value;
+        }
+
+        private synchronized String intern(String value, int hash) {
+            var mask = table.length - 1;
+            var i = slotOf(hash, mask);
+
+            for (var pooled = table[i]; pooled != null; pooled = table[i = (i + 1) & mask]) {
+                if (pooled.hashCode() == hash && pooled.equals(value)) {
+                    if (pooled != value)
+                        hit(sizeOf(value.length(), isLatin1(value)));
+                    return pooled;
+                }
+            }
+
+            misses.increment();
+            add(value, i);
+            return value;
+        }
+
+        private synchronized void clear() {
+            table = new String[INITIAL_SEGMENT_CAPACITY];
+            size = 0;
+        }
+
+        private synchronized int size() {
+            return size;
+        }
+
+        // Adds the string in the empty slot that the lookup ended at, unless the segment is full
+        private void add(String value, int slot) {
+            if (size + 1 > table.length * 3 / 4) {
+                if (table.length == MAX_SEGMENT_CAPACITY)
+                    return;
+                rehash();
+                slot = emptySlotOf(value.hashCode());
+            }
+
+            table[slot] = value;
+            size++;
+        }
+
+        private void rehash() {
+            var old = table;
+            table = new String[old.length * 2];
+            for (String value : old)
+                if (value != null)
+                    table[emptySlotOf(value.hashCode())] = value;
+        }
+
+        private int emptySlotOf(int hash) {
+            var mask = table.length - 1;
+            var i = slotOf(hash, mask);
+            while (table[i] != null)
+                i = (i + 1) & mask;
+            return i;
+        }
+
+        private int slotOf(int hash, int mask) {
+            // The low bits are used to choose the segment
+            return (hash >>> 6 ^ hash >>> 22) & mask;
+        }
+
+        private boolean matches(String pooled, byte[] bytes, int from, int length) {
+            if (pooled.length() != length)
+                return false;
+            for (var i = 0; i < length; i++)
+                if (pooled.charAt(i) != bytes[from + i])
+                    return false;
+            return true;
+        }
+    }
+}
@@ -0,0 +1,54 @@
+package nsr_json;
+
+/**
+ * A snapshot of the statistics of the string pool that is shared by the documents loaded with interning
+ */
+public class StringPoolStats {
+    private final int entries;
+    private final long hits;
+    private final long misses;
+    private final long savedBytes;
+
+    protected StringPoolStats(int entries, long hits, long misses, long savedBytes) {
+        this.entries = entries;
+        this.hits = hits;
+        this.misses = misses;
+        this.savedBytes = savedBytes;
+    }
+
+    /**
+     * @return how many strings are in the pool
+     */
+    public int getEntries() {
+        return entries;
+    }
+
+    /**
+     * @return how many times an already pooled string was reused
+     */
+    public long getHits() {
+        return hits;
+    }
+
+    /**
+     * @return how many times a string was not found in the pool
+     */
+    public long getMisses() {
+        return misses;
+    }
+
+    /**
+     * An estimation of the memory of the duplicated strings that were not kept, assuming compressed pointers
+     *
+     * @return the saved memory in bytes
+     */
+    public long getSavedBytes() {
+        return savedBytes;
+    }
+
+    @Override
+    public String toString() {
+        return "StringPoolStats{entries=" + entries + ", hits=" + hits + ", misses=" + misses +
+                ", savedBytes=" + savedBytes + "}";
+    }
+}
@@ -0,0 +1,276 @@
+package nsr_json;
+
+import exception.ParsingException;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+
+/**
+ * The positions of the structural bytes of a JSON document.
+ * <p>
+ * It records the brackets, colons and commas outside strings, the opening quote of every string
+ * and the first byte of every number or literal, and links every opening bracket to its closing one.
+ */
+class StructuralIndex {
+    private static final int CHUNK_SIZE = 1 << 16;
+    // The scanner of the Vector API is only built with the "vector" profile and runs only if its module is added
+    private static final MethodHandle VECTOR_SCANNER = findVectorScanner();
+
+    private final int[] positions;
+    private final int[] matches;
+    private final int size;
+
+    private StructuralIndex(int[] positions, int[] matches, int size) {
+        this.positions = positions;
+        this.matches = matches;
+        this.size = size;
+    }
+
+    /**
+     * Scans the remaining bytes of the buffer and builds their structural index
+     *
+     * @param bytes the JSON document
+     * @return the index of the document
+     */
+    protected static StructuralIndex build(ByteBuffer bytes) {
+        var builder = new Builder(bytes.remaining());
+        var start = byteOrderMarkLength(bytes);
+
+        if (bytes.hasArray()) {
+            var from = bytes.arrayOffset() + bytes.position();
+            builder.scan(bytes.array(), from + start, from + bytes.remaining(), -from);
+        } else {
+            var chunk = new byte[Math.min(CHUNK_SIZE, bytes.remaining())];
+            for (var offset = start; offset < bytes.remaining(); offset += chunk.length) {
+                var length = Math.min(chunk.length, bytes.remaining() - offset);
+                bytes.get(bytes.position() + offset, chunk, 0, length);
+                builder.scan(chunk, 0, length, offset);
+            }
+        }
+
+        return builder.finish();
+    }
+
+    /**
+     * Builds the structural index using the Vector API if it's wanted, its scanner is built with the "vector"
+     * profile and the JVM is started with "--add-modules jdk.incubator.vector", otherwise it scans byte by byte
+     *
+     * @param bytes      the JSON document
+     * @param vectorized true to use the Vector API if it's available
+     * @return the index of the document
+     */
+    protected static StructuralIndex build(ByteBuffer bytes, boolean vectorized) {
+        if (!vectorized || VECTOR_SCANNER == null)
+            return build(bytes);
+
+        try {
+            return (StructuralIndex) VECTOR_SCANNER.invokeExact(bytes);
+        } catch (RuntimeException | Error e) {
+            throw e;
+        } catch (Throwable e) {
+            throw new ParsingException(e);
+        }
+    }
+
+    /**
+     * @return true if the Vector API can be used to build the index
+     */
+    protected static boolean isVectorApiAvailable() {
+        return VECTOR_SCANNER != null;
+    }
+
+    private static MethodHandle findVectorScanner() {
+        if (ModuleLayer.boot().findModule("jdk.incubator.vector").isEmpty())
+            return null;
+
+        try {
+            var scanner = Class.forName("nsr_json.VectorStructuralScanner");
+            return MethodHandles.lookup().findStatic(scanner, "build",
+                    MethodType.methodType(StructuralIndex.class, ByteBuffer.class));
+        } catch (ReflectiveOperationException | LinkageError e) {
+            return null;
+        }
+    }
+
+    /**
+     * @param bytes the JSON document
+     * @return 3 if the document starts with a UTF-8 byte order mark otherwise 0
+     */
+    protected static int byteOrderMarkLength(ByteBuffer bytes) {
+        var p = bytes.position();
+        return bytes.remaining() >= 3 && bytes.get(p) == (byte) 0xEF
+                && bytes.get(p + 1) == (byte) 0xBB && bytes.get(p + 2) == (byte) 0xBF ? 3 : 0;
+    }
+
+    /**
+     * @return how many structural bytes are in the document
+     */
+    protected int size() {
+        return size;
+    }
+
+    /**
+     * @param i the index of the structural byte
+     * @return its position in the document
+     */
+    protected int position(int i) {
+        return positions[i];
+    }
+
+    /**
+     * @param i the index of an opening bracket
+     * @return the index of its closing bracket
+     */
+    protected int match(int i) {
+        return matches[i];
+    }
+
+    /**
+     * Collects the structural bytes while scanning the document chunk by chunk
+     */
+    static class Builder {
+        private int[] positions;
+        private int[] matches;
+        private int size;
+
+        // The indexes and the kinds of the brackets that are not closed yet
+        private int[] openings = new int[32];
+        private byte[] openingKinds = new byte[32];
+        private int depth;
+
+        private boolean inString;
+        private boolean escaped;
+        private boolean inScalar;
+
+        protected Builder(int documentLength) {
+            var capacity = Math.max(16, documentLength / 8);
+            this.positions = new int[capacity];
+            this.matches = new int[capacity];
+        }
+
+        /**
+         * Scans a chunk of the document
+         *
+         * @param chunk the bytes of the chunk
+         * @param from  the first byte to scan
+         * @param to    the end of the bytes to scan, exclusive
+         * @param base  what should be added to a chunk index to get the document position
+         */
+        protected void scan(byte[] chunk, int from, int to, int base) {
+            for (var i = from; i < to; i++) {
+                var b = chunk[i];
+
+                if (inString) {
+                    if (escaped)
+                        escaped = false;
+                    else if (b == '\\')
+                        escaped = true;
+                    else if (b == '"')
+                        inString = false;
+                    continue;
+                }
+
+                switch (b) {
+                    case '"' -> {
+                        add(i + base);
+                        inString = true;
+                        inScalar = false;
+                    }
+                    case '{', '[' -> {
+                        open(i + base, b);
+                        inScalar = false;
+                    }
+                    case '}' -> {
+                        close(i + base, '{', b);
+                        inScalar = false;
+                    }
+                    case ']' -> {
+                        close(i + base, '[', b);
+                        inScalar = false;
+                    }
+                    case ':', ',' -> {
+                        add(i + base);
+                        inScalar = false;
+                    }
+                    case ' ', '\n', '\r', '\t' -> inScalar = false;
+                    default -> {
+                        if (!inScalar) {
+                            add(i + base);
+                            inScalar = true;
+                        }
+                    }
+                }
+            }
+        }
+
+        /**
+         * Adds a structural byte that was found by another scanner,
+         * the bytes must be added in order and the bytes inside strings must be skipped
+         *
+         * @param position the position of the byte in the document
+         * @param b        the byte
+         */
+        protected void addStructural(int position, byte b) {
+            switch (b) {
+                case '{', '[' -> open(position, b);
+                case '}' -> close(position, '{', b);
+                case ']' -> close(position, '[', b);
+                default -> add(position);
+            }
+        }
+
+        /**
+         * Lets another scanner report whether the document ended inside a string
+         *
+         * @param inString true if the last string is not terminated
+         */
+        protected void setInString(boolean inString) {
+            this.inString = inString;
+        }
+
+        /**
+         * Makes sure the document is complete and creates the index
+         *
+         * @return the index of the document
+         */
+        protected StructuralIndex finish() {
+            if (inString)
+                throw new ParsingException("Unterminated string in the JSON document");
+            if (depth > 0)
+                throw new ParsingException("Unclosed bracket at position [" + positions[openings[depth - 1]] + "]");
+            if (size == 0)
+                throw new ParsingException("The JSON document is empty");
+
+            return new StructuralIndex(Arrays.copyOf(positions, size), Arrays.copyOf(matches, size), size);
+        }
+
+        private void open(int position, byte kind) {
+            if (depth == openings.length) {
+                openings = Arrays.copyOf(openings, depth * 2);
+                openingKinds = Arrays.copyOf(openingKinds, depth * 2);
+            }
+            openings[depth] = size;
+            openingKinds[depth++] = kind;
+            add(position);
+        }
+
+        private void close(int position, char opening, byte closing) {
+            if (depth == 0 || openingKinds[depth - 1] != opening)
+                throw new ParsingException("Unexpected character [" + (char) closing + "] at position [" + position + "]");
+
+            matches[openings[--depth]] = size;
+            add(position);
+        }
+
+        private void add(int position) {
+            if (size == positions.length) {
+                positions = Arrays.copyOf(positions, size + (size >> 1));
+                matches = Arrays.copyOf(matches, positions.length);
+            }
+            positions[size++] = position;
+        }
+    }
+}
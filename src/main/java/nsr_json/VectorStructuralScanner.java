@@ -0,0 +1,151 @@
+package nsr_json;
+
+import jdk.incubator.vector.ByteVector;
+import jdk.incubator.vector.VectorOperators;
+import jdk.incubator.vector.VectorSpecies;
+
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+
+/**
+ * Finds the structural bytes of a JSON document 64 bytes at a time using the incubating Vector API.
+ * <p>
+ * Every block is classified into bit masks, the escaped quotes are removed, the string ranges are found
+ * with a prefix xor of the quotes and the remaining bits are handed to the {@link StructuralIndex.Builder}.
+ * It's compiled only with the "vector" profile and found by {@link StructuralIndex} when the
+ * "jdk.incubator.vector" module is available.
+ */
+final class VectorStructuralScanner {
+    // A lane mask is read as a long, so a vector can't have more than 64 lanes
+    private static final VectorSpecies<Byte> SPECIES = ByteVector.SPECIES_PREFERRED.length() > 64 ?
+            ByteVector.SPECIES_512 :
+            ByteVector.SPECIES_PREFERRED;
+    private static final int BLOCK_SIZE = 64;
+    private static final int CHUNK_SIZE = 1 << 16;
+
+    private final StructuralIndex.Builder builder;
+    private final byte[] block = new byte[BLOCK_SIZE];
+
+    // The state that is carried from a block to the next one
+    private boolean inString;
+    private boolean escaped;
+    private boolean inScalar;
+
+    private VectorStructuralScanner(StructuralIndex.Builder builder) {
+        this.builder = builder;
+    }
+
+    /**
+     * Scans the remaining bytes of the buffer and builds their structural index
+     *
+     * @param bytes the JSON document
+     * @return the index of the document
+     */
+    static StructuralIndex build(ByteBuffer bytes) {
+        var builder = new StructuralIndex.Builder(bytes.remaining());
+        var scanner = new VectorStructuralScanner(builder);
+
+        var start = StructuralIndex.byteOrderMarkLength(bytes);
+
+        if (bytes.hasArray()) {
+            var from = bytes.arrayOffset() + bytes.position();
+            scanner.scan(bytes.array(), from + start, from + bytes.remaining(), -from);
+        } else {
+            // The chunks are multiples of the block size so only the last block may need padding
+            var chunk = new byte[Math.min(CHUNK_SIZE, bytes.remaining())];
+            for (var offset = start; offset < bytes.remaining(); offset += chunk.length) {
+                var length = Math.min(chunk.length, bytes.remaining() - offset);
+                bytes.get(bytes.position() + offset, chunk, 0, length);
+                scanner.scan(chunk, 0, length, offset);
+            }
+        }
+
+        builder.setInString(scanner.inString);
+        return builder.finish();
+    }
+
+    private void scan(byte[] chunk, int from, int to, int base) {
+        var i = from;
+        for (; i + BLOCK_SIZE <= to; i += BLOCK_SIZE)
+            scanBlock(chunk, i, i + base);
+
+        // The tail is padded with spaces which don't change the state
+        if (i < to) {
+            Arrays.fill(block, (byte) ' ');
+            System.arraycopy(chunk, i, block, 0, to - i);
+            scanBlock(block, 0, i + base);
+        }
+    }
+
+    private void scanBlock(byte[] bytes, int offset, int position) {
+        long quotes = 0, backslashes = 0, structurals = 0, whitespaces = 0;
+
+        for (var k = 0; k < BLOCK_SIZE; k += SPECIES.length()) {
+            var v = ByteVector.fromArray(SPECIES, bytes, offset + k);
+
+            quotes |= v.compare(VectorOperators.EQ, (byte) '"').toLong() << k;
+            backslashes |= v.compare(VectorOperators.EQ, (byte) '\\').toLong() << k;
+            structurals |= v.compare(VectorOperators.EQ, (byte) '{')
+                    .or(v.compare(VectorOperators.EQ, (byte) '}'))
+                    .or(v.compare(VectorOperators.EQ, (byte) '['))
+                    .or(v.compare(VectorOperators.EQ, (byte) ']'))
+                    .or(v.compare(VectorOperators.EQ, (byte) ':'))
+                    .or(v.compare(VectorOperators.EQ, (byte) ','))
+                    .toLong() << k;
+            whitespaces |= v.compare(VectorOperators.EQ, (byte) ' ')
+                    .or(v.compare(VectorOperators.EQ, (byte) '\n'))
+                    .or(v.compare(VectorOperators.EQ, (byte) '\r'))
+                    .or(v.compare(VectorOperators.EQ, (byte) '\t'))
+                    .toLong() << k;
+        }
+
+        var escapedBytes = findEscaped(backslashes);
+        quotes &= ~escapedBytes;
+
+        // Every byte from an opening quote up to the closing one, the closing quote itself is excluded
+        var strings = prefixXor(quotes) ^ (inString ? -1L : 0L);
+        inString = strings < 0;
+
+        var scalars = ~(structurals | whitespaces | quotes | strings);
+        var scalarStarts = scalars & ~((scalars << 1) | (inScalar ? 1L : 0L));
+        inScalar = scalars < 0;
+
+        var found = (structurals & ~strings) | (quotes & strings) | scalarStarts;
+        while (found != 0) {
+            var bit = Long.numberOfTrailingZeros(found);
+            builder.addStructural(position + bit, bytes[offset + bit]);
+            found &= found - 1;
+        }
+    }
+
+    // Marks the bytes that follow an unescaped backslash, backslashes are rare so they are walked one by one
+    private long findEscaped(long backslashes) {
+        var escapedBytes = escaped ? 1L : 0L;
+        escaped = false;
+
+        while (backslashes != 0) {
+            var bit = Long.numberOfTrailingZeros(backslashes);
+            backslashes &= backslashes - 1;
+
+            if ((escapedBytes & (1L << bit)) != 0)
+                continue;
+
+            if (bit == BLOCK_SIZE - 1)
+                escaped = true;
+            else
+                escapedBytes |= 1L << (bit + 1);
+        }
+
+        return escapedBytes;
+    }
+
+    private static long prefixXor(long bits) {
+        bits ^= bits << 1;
+        bits ^= bits << 2;
+        bits ^= bits << 4;
+        bits ^= bits << 8;
+        bits ^= bits << 16;
+        bits ^= bits << 32;
+        return bits;
+    }
+}
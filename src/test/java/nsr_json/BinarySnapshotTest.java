@@ -0,0 +1,150 @@
+package nsr_json;
+
+import exception.ParsingException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.util.Arrays;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class BinarySnapshotTest {
+    private static final String JSON_CONTENT = """
+            {"name": "nsr", "list": [1, 2.5, "ثلاثة", null, true, false, [], {}],
+             "big": 123456789012345678901234567890, "nested": {"list": [{"name": "a"}, {"name": "b"}]}}
+            """;
+
+    @TempDir
+    Path directory;
+
+    @AfterEach
+    void closeAll() {
+        JSON.closeAll();
+    }
+
+    private Path writeFile(String content) throws IOException {
+        var file = directory.resolve("config.json");
+        Files.writeString(file, content);
+        return file;
+    }
+
+    private static ByteBuffer snapshotOf(Object data) throws IOException {
+        var path = Files.createTempFile("nsr", BinarySnapshot.EXTENSION);
+        try {
+            BinarySnapshot.write(data, 1, 2, 3, path);
+            return ByteBuffer.wrap(Files.readAllBytes(path));
+        } finally {
+            Files.delete(path);
+        }
+    }
+
+    @Nested
+    class ValidCases {
+        @Test
+        void readTheWrittenDocument() throws IOException {
+            var data = JSONParser.parse(ByteBuffer.wrap(JSON_CONTENT.getBytes(UTF_8)));
+            var snapshot = snapshotOf(data);
+
+            assertThat(BinarySnapshot.isFresh(snapshot, 1, 2, 3)).isTrue();
+            assertThat(BinarySnapshot.read(snapshot, new JSONLoadOptions())).isEqualTo(data);
+            assertThat(BinarySnapshot.read(snapshot, new JSONLoadOptions().setCompact(true))).isEqualTo(data);
+        }
+
+        @Test
+        void readADocumentLargerThanTheFirstBuffer() throws IOException {
+            var json = new StringBuilder("{\"items\": [");
+            for (var i = 0; i < 5000; i++)
+                json.append(i == 0 ? "" : ",").append("{\"id\": ").append(i)
+                        .append(", \"name\": \"item ").append(i).append("\", \"tags\": [\"a\", \"b\"]}");
+            var data = JSONParser.parse(ByteBuffer.wrap(json.append("]}").toString().getBytes(UTF_8)));
+            var snapshot = snapshotOf(data);
+
+            assertThat(snapshot.capacity()).isGreaterThan(64 * 1024);
+            assertThat(BinarySnapshot.read(snapshot, new JSONLoadOptions())).isEqualTo(data);
+        }
+
+        @Test
+        void readLazyNumbers() throws IOException {
+            var options = new JSONLoadOptions().setLazyNumbers(true);
+            var data = JSONParser.parse(ByteBuffer.wrap("[1.25, 1e400, 5]".getBytes(UTF_8)), options);
+
+            assertThat(BinarySnapshot.read(snapshotOf(data), options)).isEqualTo(data);
+        }
+
+        @Test
+        void writeSnapshotOnLoad() throws IOException {
+            var file = writeFile(JSON_CONTENT);
+            var options = new JSONLoadOptions().setSnapshot(true);
+
+            var parsed = JSON.readFile(file.toString(), options).getAll();
+            JSON.closeAll();
+
+            assertThat(BinarySnapshot.pathOf(file.toString())).exists();
+            assertThat(JSON.readFile(file.toString(), options).getAll()).isEqualTo(parsed);
+        }
+
+        @Test
+        void useTheSnapshotInsteadOfTheFile() throws IOException {
+            var file = writeFile(JSON_CONTENT);
+            var options = new JSONLoadOptions().setSnapshot(true);
+            JSON.readFile(file.toString(), options);
+            JSON.closeAll();
+
+            // A snapshot of other content with the same header is trusted without parsing the file
+            var snapshotPath = BinarySnapshot.pathOf(file.toString());
+            var header = ByteBuffer.wrap(Files.readAllBytes(snapshotPath));
+            BinarySnapshot.write("from the snapshot", header.getLong(8), header.getLong(16), header.getLong(24), snapshotPath);
+
+            assertThat(JSON.readFile(file.toString(), options).getAll()).isEqualTo("from the snapshot");
+        }
+
+        @Test
+        void ignoreStaleSnapshot() throws IOException {
+            var file = writeFile(JSON_CONTENT);
+            var options = new JSONLoadOptions().setSnapshot(true);
+            JSON.readFile(file.toString(), options);
+            JSON.closeAll();
+
+            Files.writeString(file, "{\"name\": \"changed\"}");
+            Files.setLastModifiedTime(file, FileTime.fromMillis(Files.getLastModifiedTime(file).toMillis() + 1000));
+
+            assertThat(JSON.readFile(file.toString(), options).getString("name")).isEqualTo("changed");
+        }
+
+        @Test
+        void replaceCorruptedSnapshot() throws IOException {
+            var file = writeFile(JSON_CONTENT);
+            var options = new JSONLoadOptions().setSnapshot(true);
+            JSON.readFile(file.toString(), options);
+            JSON.closeAll();
+
+            var snapshotPath = BinarySnapshot.pathOf(file.toString());
+            var snapshot = Files.readAllBytes(snapshotPath);
+            Files.write(snapshotPath, Arrays.copyOf(snapshot, 60));
+
+            assertThat(JSON.readFile(file.toString(), options).getString("name")).isEqualTo("nsr");
+            assertThat(Files.size(snapshotPath)).isEqualTo(snapshot.length);
+        }
+    }
+
+    @Nested
+    class InvalidCases {
+        @Test
+        void readOtherFormat() {
+            var bytes = ByteBuffer.wrap(JSON_CONTENT.getBytes(UTF_8));
+
+            assertThat(BinarySnapshot.isFresh(bytes, 1, 2, 3)).isFalse();
+            assertThatThrownBy(() -> BinarySnapshot.read(bytes, new JSONLoadOptions()))
+                    .isInstanceOf(ParsingException.class);
+        }
+    }
+}
@@ -0,0 +1,104 @@
+package nsr_json;
+
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class CompactNodesTest {
+
+    private static Object parse(String json, boolean compact) throws IOException {
+        return JSONParser.parse(new ByteArrayInputStream(json.getBytes(UTF_8)), new JSONLoadOptions().setCompact(compact));
+    }
+
+    @Nested
+    class ValidCases {
+        @Test
+        void buildTheSameTree() throws IOException {
+            var json = """
+                    {"name": "nsr", "list": [1, 2.5, "3", null, [], {}], "longs": [1, -2, 3],
+                     "doubles": [0.5, -1.25], "nested": {"a": {"b": [true, false]}}}
+                    """;
+
+            assertThat(parse(json, true)).isEqualTo(parse(json, false));
+            assertThat(parse(json, true).hashCode()).isEqualTo(parse(json, false).hashCode());
+        }
+
+        @Test
+        void findKeysOfLargeObjects() throws IOException {
+            var json = IntStream.range(0, 100)
+                    .mapToObj(i -> "\"key" + i + "\": " + i)
+                    .collect(Collectors.joining(", ", "{", "}"));
+            var map = (Map<?, ?>) parse(json, true);
+
+            assertThat(map).hasSize(100).isEqualTo(parse(json, false));
+            assertThat(map.get("key57")).isEqualTo(57L);
+            assertThat(map.containsKey("key100")).isFalse();
+            assertThat(map.get(57)).isNull();
+        }
+
+        @Test
+        void keepTheOrderOfTheKeys() throws IOException {
+            assertThat(((Map<?, ?>) parse("{\"c\": 1, \"a\": 2, \"b\": 3}", true)).keySet().stream().toList())
+                    .isEqualTo(List.of("c", "a", "b"));
+        }
+
+        @Test
+        @SuppressWarnings("unchecked")
+        void keepTheLastRepeatedKey() throws IOException {
+            var small = (Map<?, ?>) parse("{\"a\": 1, \"b\": 2, \"a\": 3}", true);
+            var large = (Map<String, Object>) parse(IntStream.range(0, 20)
+                    .mapToObj(i -> "\"k" + (i % 10) + "\": " + i)
+                    .collect(Collectors.joining(", ", "{", "}")), true);
+
+            assertThat(small).isEqualTo(Map.of("a", 3L, "b", 2L));
+            assertThat(large).hasSize(10).containsEntry("k3", 13L);
+        }
+
+        @Test
+        void readPrimitiveArrays() throws IOException {
+            assertThat(parse("[1, 2, 9223372036854775807]", true))
+                    .isEqualTo(List.of(1L, 2L, Long.MAX_VALUE));
+            assertThat(parse("[1.5, -0.0]", true))
+                    .isEqualTo(List.of(1.5, -0.0));
+            assertThat(parse("[1, 1.5]", true))
+                    .isEqualTo(List.of(1L, 1.5));
+        }
+
+        @Test
+        void readFileAsCompactNodes() {
+            JSON.closeAll();
+
+            var reader = JSON.readFile("src/test/resources/json_test.json", new JSONLoadOptions().setCompact(true));
+            JSON.closeAll();
+
+            assertThat(reader.getInteger("person.importantNumbers.roomNumber"))
+                    .isEqualTo(415);
+            assertThat(reader.getListAs("person.favoriteNumbers", Integer.class))
+                    .startsWith(0, 5);
+        }
+    }
+
+    @Nested
+    class InvalidCases {
+        @Test
+        @SuppressWarnings("unchecked")
+        void changeCompactNodes() throws IOException {
+            var map = (Map<String, Object>) parse("{\"a\": [1]}", true);
+
+            assertThatThrownBy(() -> map.put("b", 2))
+                    .isInstanceOf(UnsupportedOperationException.class);
+            assertThatThrownBy(() -> ((List<Object>) map.get("a")).add(2))
+                    .isInstanceOf(UnsupportedOperationException.class);
+        }
+    }
+}
@@ -0,0 +1,127 @@
+package nsr_json;
+
+import exception.JSONFileException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class DirectoryPreloaderTest {
+    @TempDir
+    Path directory;
+
+    @BeforeEach
+    void setup() throws IOException {
+        Files.writeString(directory.resolve("first.json"), "{\"name\": \"first\"}");
+        Files.writeString(directory.resolve("second.json"), "[1, 2, 3]");
+        Files.writeString(directory.resolve("broken.json"), "{\"name\": ");
+        Files.writeString(directory.resolve("notes.txt"), "not a JSON file");
+        Files.createDirectory(directory.resolve("nested"));
+        Files.writeString(directory.resolve("nested/third.json"), "{\"name\": \"third\"}");
+    }
+
+    @AfterEach
+    void clear() {
+        JSONFileLoader.clearAll();
+    }
+
+    private String path(String file) {
+        return directory.resolve(file).toString();
+    }
+
+    @Nested
+    class ValidCases {
+        @Test
+        void preloadTheDirectory() {
+            var summary = JSON.preload(directory.toString());
+
+            assertThat(summary.getLoaded())
+                    .containsOnlyKeys(path("first.json"), path("second.json"));
+            assertThat(summary.getFailed())
+                    .containsOnlyKeys(path("broken.json"));
+            assertThat(summary.getFailed().get(path("broken.json")))
+                    .isInstanceOf(JSONFileException.class);
+            assertThat(summary.isSuccessful())
+                    .isFalse();
+        }
+
+        @Test
+        void preloadedFilesAreCached() {
+            var summary = JSON.preload(directory.toString());
+
+            assertThat(summary.getLoaded().values())
+                    .allSatisfy(time -> assertThat(time.isNegative()).isFalse());
+            assertThat(summary.getTotalTime().isNegative())
+                    .isFalse();
+            assertThat(JSONFileLoader.getInstance(path("first.json")))
+                    .isSameAs(JSONFileLoader.getInstance(path("first")));
+            assertThat(JSON.readFile(path("first.json")).getString("name"))
+                    .isEqualTo("first");
+        }
+
+        @Test
+        void preloadRecursively() {
+            var summary = JSON.preload(directory.toString(), "*.json", true);
+
+            assertThat(summary.getLoaded())
+                    .containsOnlyKeys(path("first.json"), path("second.json"), path("nested/third.json"));
+        }
+
+        @Test
+        void preloadMatchedFiles() {
+            var summary = JSON.preload(directory.toString(), "{first,nested/*}.json", true,
+                    new JSONLoadOptions().setCompact(true));
+
+            assertThat(summary.getLoaded())
+                    .containsOnlyKeys(path("first.json"), path("nested/third.json"));
+            assertThat(summary.isSuccessful())
+                    .isTrue();
+        }
+
+        @Test
+        void preloadFilesOfOtherExtensions() throws IOException {
+            Files.writeString(directory.resolve("settings.conf"), "{\"name\": \"settings\"}");
+
+            var summary = JSON.preload(directory.toString(), "*.conf", false);
+
+            assertThat(summary.getLoaded())
+                    .containsOnlyKeys(path("settings.conf"));
+            assertThat(JSON.readFile(path("settings.conf")).getString("name"))
+                    .isEqualTo("settings");
+            assertThat(JSONFileLoader.getLoadedInstance(path("settings.conf")))
+                    .isSameAs(JSONFileLoader.getInstance(path("settings.conf")));
+        }
+    }
+
+    @Nested
+    class InvalidCases {
+        @Test
+        void preloadNotExistedDirectory() {
+            assertThatThrownBy(
+                    () -> JSON.preload(directory.resolve("missing").toString())
+            ).isInstanceOf(JSONFileException.class);
+        }
+
+        @Test
+        void preloadWithNullDirectory() {
+            assertThatThrownBy(
+                    () -> JSON.preload(null)
+            ).isInstanceOf(IllegalArgumentException.class);
+        }
+
+        @Test
+        void preloadWithEmptyPattern() {
+            assertThatThrownBy(
+                    () -> JSON.preload(directory.toString(), " ", false)
+            ).isInstanceOf(IllegalArgumentException.class);
+        }
+    }
+}
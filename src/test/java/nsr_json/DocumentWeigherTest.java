@@ -0,0 +1,71 @@
+package nsr_json;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.assertj.core.api.Assertions.assertThat;
+
+class DocumentWeigherTest {
+    private static final String DOCUMENT = "{\"name\": \"Ahmed\", \"numbers\": [1, 2, 3], \"balance\": 10.5, \"active\": true}";
+
+    private static Object parse(JSONLoadOptions options) throws IOException {
+        return JSONParser.parse(ByteBuffer.wrap(DOCUMENT.getBytes(UTF_8)), options);
+    }
+
+    @Test
+    void weighValues() {
+        assertThat(DocumentWeigher.weigh(null))
+                .isZero();
+        assertThat(DocumentWeigher.weigh(true))
+                .isZero();
+        assertThat(DocumentWeigher.weigh(1L))
+                .isEqualTo(16);
+        assertThat(DocumentWeigher.weigh("Ahmed"))
+                .isEqualTo(48);
+    }
+
+    @Test
+    void weighLazyNumbersWithoutDecodingThem() {
+        var packed = "10.5".getBytes(UTF_8);
+        var text = "12345678901234567890.5".getBytes(UTF_8);
+
+        assertThat(DocumentWeigher.weigh(JSONNumber.of(packed, packed.length)))
+                .isEqualTo(24);
+        assertThat(DocumentWeigher.weigh(JSONNumber.of(text, text.length)))
+                .isEqualTo(24 + 40);
+    }
+
+    @Test
+    void weighIncludesTheChildren() {
+        var list = new ArrayList<Object>(List.of("Ahmed"));
+
+        assertThat(DocumentWeigher.weigh(list))
+                .isEqualTo(DocumentWeigher.weigh(new ArrayList<>()) + 4 + DocumentWeigher.weigh("Ahmed"));
+        assertThat(DocumentWeigher.weigh(Map.of("key", list)))
+                .isGreaterThan(DocumentWeigher.weigh(list) + DocumentWeigher.weigh("key"));
+    }
+
+    @Test
+    void compactDocumentsWeighLess() throws IOException {
+        var tree = parse(new JSONLoadOptions());
+        var compact = parse(new JSONLoadOptions().setCompact(true));
+
+        assertThat(DocumentWeigher.weigh(compact))
+                .isPositive()
+                .isLessThan(DocumentWeigher.weigh(tree));
+    }
+
+    @Test
+    void weighStringSlicesWithoutDecodingThem() throws IOException {
+        var sliced = parse(new JSONLoadOptions().setStringSlices(true));
+
+        assertThat(DocumentWeigher.weigh(sliced))
+                .isLessThan(DocumentWeigher.weigh(parse(new JSONLoadOptions().setCompact(true))));
+    }
+}
@@ -0,0 +1,91 @@
+package nsr_json;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.function.BooleanSupplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class FileWatcherTest {
+    @TempDir
+    Path directory;
+    private Path file;
+
+    @BeforeEach
+    void setup() throws IOException {
+        file = directory.resolve("config.json");
+        Files.writeString(file, "{\"name\": \"old\"}");
+    }
+
+    @AfterEach
+    void clear() {
+        JSON.closeAll();
+    }
+
+    private JSONReader read() {
+        return JSON.readFile(file.toString(), new JSONLoadOptions().setHotReload(true));
+    }
+
+    private static boolean await(BooleanSupplier condition) throws InterruptedException {
+        var deadline = System.currentTimeMillis() + 10_000;
+        while (!condition.getAsBoolean()) {
+            if (System.currentTimeMillis() > deadline)
+                return false;
+            Thread.sleep(20);
+        }
+        return true;
+    }
+
+    @Test
+    void reloadTheChangedFile() throws Exception {
+        var oldReader = read();
+        assertThat(FileWatcher.shared().isWatched(file))
+                .isTrue();
+
+        Files.writeString(file, "{\"name\": \"new\"}");
+
+        assertThat(await(() -> "new".equals(read().getString("name"))))
+                .isTrue();
+        assertThat(oldReader.getString("name"))
+                .isEqualTo("old");
+    }
+
+    @Test
+    void keepTheDataWhenTheChangeCantBeParsed() throws Exception {
+        read();
+        Files.writeString(file, "{\"name\": ");
+        Thread.sleep(500);
+
+        assertThat(read().getString("name"))
+                .isEqualTo("old");
+
+        Files.writeString(file, "{\"name\": \"fixed\"}");
+        assertThat(await(() -> "fixed".equals(read().getString("name"))))
+                .isTrue();
+    }
+
+    @Test
+    void stopWatchingTheClosedFile() throws Exception {
+        read();
+        JSON.closeAll();
+
+        Files.writeString(file, "{\"name\": \"new\"}");
+
+        assertThat(await(() -> !FileWatcher.shared().isWatched(file)))
+                .isTrue();
+    }
+
+    @Test
+    void notWatchedWithoutTheOption() {
+        JSON.readFile(file.toString());
+
+        assertThat(FileWatcher.shared().isWatched(file))
+                .isFalse();
+    }
+}
@@ -0,0 +1,235 @@
+package nsr_json;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryType;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class JSONCachePolicyTest {
+    @TempDir
+    Path directory;
+
+    @BeforeEach
+    void setup() throws IOException {
+        JSON.closeAll();
+        for (var name : new String[]{"first", "second", "third"})
+            Files.writeString(directory.resolve(name + ".json"), "{\"name\": \"" + name + "\", \"items\": [1, 2, 3]}");
+    }
+
+    @AfterEach
+    void clear() {
+        JSON.setCachePolicy(new JSONCachePolicy());
+        JSON.closeAll();
+    }
+
+    private JSONFileLoader load(String name) {
+        return JSONFileLoader.getInstance(directory.resolve(name).toString());
+    }
+
+    @Nested
+    class ValidCases {
+        @Test
+        void evictTheLeastRecentlyReadFile() {
+            JSON.setCachePolicy(new JSONCachePolicy().setMaxEntries(2));
+            var evictions = JSON.getCacheStats().getEvictions();
+
+            var first = load("first");
+            var second = load("second");
+            load("first");
+            load("third");
+
+            assertThat(JSON.getCacheStats().getEntries())
+                    .isEqualTo(2);
+            assertThat(JSON.getCacheStats().getEvictions())
+                    .isEqualTo(evictions + 1);
+            assertThat(load("first"))
+                    .isSameAs(first);
+            assertThat(load("second"))
+                    .isNotSameAs(second);
+        }
+
+        @Test
+        void evictByTheEstimatedBytes() {
+            var first = load("first");
+            var weight = JSON.getCacheStats().getWeight();
+            assertThat(weight)
+                    .isPositive();
+
+            JSON.setCachePolicy(new JSONCachePolicy().setMaxBytes(weight * 3 / 2));
+            load("second");
+
+            assertThat(JSON.getCacheStats().getEntries())
+                    .isEqualTo(1);
+            assertThat(JSON.getCacheStats().getWeight())
+                    .isLessThanOrEqualTo(weight * 3 / 2);
+            assertThat(load("first"))
+                    .isNotSameAs(first);
+        }
+
+        @Test
+        void keepTheLastFileEvenIfItExceedsTheLimit() {
+            JSON.setCachePolicy(new JSONCachePolicy().setMaxBytes(1));
+
+            var first = load("first");
+
+            assertThat(load("first"))
+                    .isSameAs(first);
+            assertThat(new JSONReader(first).getString("name"))
+                    .isEqualTo("first");
+        }
+
+        @Test
+        void evictWhenThePolicyIsSet() {
+            load("first");
+            load("second");
+            load("third");
+
+            JSON.setCachePolicy(new JSONCachePolicy().setMaxEntries(1));
+
+            assertThat(JSON.getCacheStats().getEntries())
+                    .isEqualTo(1);
+        }
+
+        @Test
+        void evictedReadersKeepWorking() {
+            JSON.setCachePolicy(new JSONCachePolicy().setMaxEntries(1));
+
+            var reader = JSON.readFile(directory.resolve("first").toString());
+            load("second");
+
+            assertThat(reader.getString("name"))
+                    .isEqualTo("first");
+        }
+
+        @Test
+        void clearTheStringPoolOnEviction() {
+            JSON.setCachePolicy(new JSONCachePolicy().setMaxEntries(1));
+            var options = new JSONLoadOptions().setInterning(true);
+
+            JSONFileLoader.getInstance(directory.resolve("first").toString(), options);
+            assertThat(JSON.getStringPoolStats().getEntries())
+                    .isPositive();
+
+            StringPool.shared().intern("evicted-only");
+            JSONFileLoader.getInstance(directory.resolve("second").toString(), options);
+
+            assertThat(JSON.getStringPoolStats().getEntries())
+                    .isZero();
+        }
+    }
+
+    @Nested
+    class HeapPressure {
+        @Test
+        void releaseTheLeastRecentlyReadHalf() {
+            var first = load("first");
+            load("second");
+            load("third");
+            load("first");
+
+            JSONFileLoader.releaseUnderPressure();
+
+            assertThat(JSON.getCacheStats().getEntries())
+                    .isEqualTo(1);
+            assertThat(load("first"))
+                    .isSameAs(first);
+        }
+
+        @Test
+        void clearTheStringPoolUnderPressure() {
+            JSONFileLoader.getInstance(directory.resolve("first").toString(), new JSONLoadOptions().setInterning(true));
+
+            JSONFileLoader.releaseUnderPressure();
+
+            assertThat(JSON.getStringPoolStats().getEntries())
+                    .isZero();
+        }
+
+        @Test
+        void monitorTheHeapPools() {
+            JSON.setCachePolicy(new JSONCachePolicy().setHeapPressureThreshold(0.9));
+
+            var pools = ManagementFactory.getMemoryPoolMXBeans().stream()
+                    .filter(pool -> pool.getType() == MemoryType.HEAP && pool.isCollectionUsageThresholdSupported())
+                    .filter(pool -> pool.getUsage().getMax() > 0)
+                    .filter(pool -> !HeapPressureMonitor.isYoungGeneration(pool.getName()))
+                    .toList();
+            assertThat(pools)
+                    .allMatch(pool -> pool.getCollectionUsageThreshold() > 0);
+
+            JSON.setCachePolicy(new JSONCachePolicy());
+            assertThat(pools)
+                    .allMatch(pool -> pool.getCollectionUsageThreshold() == 0);
+        }
+
+        @Test
+        void notMonitorTheYoungPools() {
+            JSON.setCachePolicy(new JSONCachePolicy().setHeapPressureThreshold(0.9));
+
+            var pools = ManagementFactory.getMemoryPoolMXBeans().stream()
+                    .filter(pool -> pool.getType() == MemoryType.HEAP && pool.isCollectionUsageThresholdSupported())
+                    .filter(pool -> HeapPressureMonitor.isYoungGeneration(pool.getName()))
+                    .toList();
+            assertThat(pools)
+                    .noneMatch(HeapPressureMonitor::isMonitorable)
+                    .allMatch(pool -> pool.getCollectionUsageThreshold() == 0);
+
+            JSON.setCachePolicy(new JSONCachePolicy());
+        }
+
+        @Test
+        void findTheYoungPoolsOfTheCollectors() {
+            assertThat(List.of("Eden Space", "Survivor Space", "PS Eden Space", "PS Survivor Space",
+                    "G1 Eden Space", "G1 Survivor Space", "ZGC Young Generation", "nursery-allocate"))
+                    .allMatch(HeapPressureMonitor::isYoungGeneration);
+            assertThat(List.of("Tenured Gen", "PS Old Gen", "G1 Old Gen", "ZGC Old Generation", "ZHeap",
+                    "Shenandoah", "tenured-SOA"))
+                    .noneMatch(HeapPressureMonitor::isYoungGeneration);
+        }
+    }
+
+    @Nested
+    class InvalidCases {
+        @Test
+        void setNonPositiveMaxEntries() {
+            assertThatThrownBy(
+                    () -> new JSONCachePolicy().setMaxEntries(0)
+            ).isInstanceOf(IllegalArgumentException.class);
+        }
+
+        @Test
+        void setNonPositiveMaxBytes() {
+            assertThatThrownBy(
+                    () -> new JSONCachePolicy().setMaxBytes(-1)
+            ).isInstanceOf(IllegalArgumentException.class);
+        }
+
+        @Test
+        void setInvalidHeapPressureThreshold() {
+            assertThatThrownBy(
+                    () -> new JSONCachePolicy().setHeapPressureThreshold(1)
+            ).isInstanceOf(IllegalArgumentException.class);
+            assertThatThrownBy(
+                    () -> new JSONCachePolicy().setHeapPressureThreshold(Double.NaN)
+            ).isInstanceOf(IllegalArgumentException.class);
+        }
+
+        @Test
+        void setNullPolicy() {
+            assertThatThrownBy(
+                    () -> JSON.setCachePolicy(null)
+            ).isInstanceOf(IllegalArgumentException.class);
+        }
+    }
+}
@@ -0,0 +1,266 @@
+package nsr_json;
+
+import exception.JSONFileException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.tuple;
+
+class JSONDiffTest {
+    private static final String DOCUMENT = """
+            {"db": {"pool": {"size": 10, "timeout": 30}, "host": "localhost"},
+             "servers": [{"host": "a"}, {"host": "b"}], "debug": false}""";
+
+    private static Object parse(String json) throws IOException {
+        return JSONParser.parse(ByteBuffer.wrap(json.getBytes(UTF_8)));
+    }
+
+    private static JSONDiff diff(String newJson) throws IOException {
+        return new JSONDiff(parse(DOCUMENT), parse(newJson));
+    }
+
+    @Nested
+    class ValidCases {
+        @Test
+        void sameDocumentHasNoChanges() throws IOException {
+            var reordered = """
+                    {"debug": false, "servers": [{"host": "a"}, {"host": "b"}],
+                     "db": {"host": "localhost", "pool": {"timeout": 30, "size": 10}}}""";
+
+            assertThat(diff(reordered).changedPaths())
+                    .isEmpty();
+        }
+
+        @Test
+        void reportTheChangedPaths() throws IOException {
+            var changed = """
+                    {"db": {"pool": {"size": 20, "timeout": 30}, "host": "localhost"},
+                     "servers": [{"host": "a"}, {"host": "c"}, {"host": "d"}], "trace": true}""";
+
+            assertThat(diff(changed).changedPaths())
+                    .containsExactlyInAnyOrder("db.pool.size", "servers[1].host", "servers[2]", "debug", "trace");
+        }
+
+        @Test
+        void reportTheReplacedRoot() throws IOException {
+            assertThat(diff("[1, 2]").changedPaths())
+                    .containsExactly(".");
+        }
+
+        @Test
+        void changeOfAKey() throws IOException {
+            var changed = """
+                    {"db": {"pool": {"size": 20, "timeout": 30}, "host": "localhost"},
+                     "servers": [{"host": "a"}, {"host": "b"}], "debug": false}""";
+            var diff = diff(changed);
+
+            var change = diff.changeOf("db.pool.size");
+            assertThat(change.getOldValue()).isEqualTo(10L);
+            assertThat(change.getNewValue()).isEqualTo(20L);
+            assertThat(diff.changeOf("db.pool"))
+                    .isNotNull();
+            assertThat(diff.changeOf("db.host"))
+                    .isNull();
+            assertThat(diff.changeOf("servers[0].host"))
+                    .isNull();
+        }
+
+        @Test
+        void changeOfAKeyBelowAReplacedValue() throws IOException {
+            var diff = diff("{\"db\": 5}");
+
+            var change = diff.changeOf("db.pool.size");
+            assertThat(change.getOldValue()).isEqualTo(10L);
+            assertThat(change.getNewValue()).isNull();
+            assertThat(diff.changeOf("missing.key"))
+                    .isNull();
+        }
+
+        @Test
+        void collidedHashesAreCompared() throws IOException {
+            var changed = """
+                    {"db": {"pool": {"size": 20, "timeout": 30}, "host": "localhost"},
+                     "servers": [{"host": "a"}, {"host": "b"}], "debug": false}""";
+            var diff = new JSONDiff(parse(DOCUMENT), parse(changed)) {
+                @Override
+                protected long hash(Object value) {
+                    return 0;
+                }
+            };
+
+            assertThat(diff.changedPaths())
+                    .containsExactly("db.pool.size");
+            assertThat(diff.changeOf("db.pool"))
+                    .isNotNull();
+            assertThat(diff.changeOf("db.host"))
+                    .isNull();
+        }
+
+        @Test
+        void differentTypesAreChanges() throws IOException {
+            assertThat(new JSONDiff(parse("{\"a\": 1}"), parse("{\"a\": \"1\"}")).changedPaths())
+                    .containsExactly("a");
+        }
+    }
+
+    @Nested
+    class Reload {
+        @TempDir
+        Path directory;
+
+        @AfterEach
+        void clear() {
+            JSON.closeAll();
+        }
+
+        @Test
+        void reloadAndNotifyTheListeners() throws IOException {
+            var file = directory.resolve("config.json");
+            Files.writeString(file, DOCUMENT);
+            var json = new JSON(file.toString());
+            var oldReader = json.read();
+
+            var changes = new ArrayList<JSONChange>();
+            json.onChange("db.pool.size", changes::add);
+            json.onChange("db.host", changes::add);
+            JSON.onChange(file.toString(), "servers", changes::add);
+
+            Files.writeString(file, DOCUMENT.replace("\"size\": 10", "\"size\": 15"));
+
+            assertThat(json.reload())
+                    .containsExactly("db.pool.size");
+            assertThat(changes)
+                    .extracting(JSONChange::getKey, JSONChange::getOldValue, JSONChange::getNewValue)
+                    .containsExactly(tuple("db.pool.size", 10L, 15L));
+            assertThat(json.read().getInteger("db.pool.size"))
+                    .isEqualTo(15);
+            assertThat(oldReader.getInteger("db.pool.size"))
+                    .isEqualTo(10);
+        }
+
+        @Test
+        void closeRemovesTheListeners() throws IOException {
+            var file = directory.resolve("config.json");
+            Files.writeString(file, DOCUMENT);
+            var json = new JSON(file.toString());
+            json.read();
+
+            var changes = new ArrayList<JSONChange>();
+            json.onChange(".", changes::add);
+            json.close();
+
+            Files.writeString(file, "{}");
+            assertThat(JSON.reload(file.toString()))
+                    .isEmpty();
+            assertThat(changes)
+                    .isEmpty();
+        }
+
+        @Test
+        void closeKeepsTheListenersOfTheOtherInstances() throws IOException {
+            var file = directory.resolve("config.json");
+            Files.writeString(file, DOCUMENT);
+            var json = new JSON(file.toString());
+            var other = new JSON(file.toString());
+            json.read();
+
+            var changes = new ArrayList<JSONChange>();
+            Consumer<JSONChange> listener = changes::add;
+            json.onChange(".", listener);
+            other.onChange(".", listener);
+            json.close();
+            other.read();
+
+            Files.writeString(file, "{}");
+            assertThat(other.reload())
+                    .isNotEmpty();
+            assertThat(changes)
+                    .hasSize(1);
+        }
+
+        @Test
+        void aFailingListenerDoesntStopTheOthers() throws IOException {
+            var file = directory.resolve("config.json");
+            Files.writeString(file, DOCUMENT);
+            var json = new JSON(file.toString());
+            json.read();
+
+            var changes = new ArrayList<JSONChange>();
+            var failures = new ArrayList<Throwable>();
+            json.onChange("db.pool.size", change -> {
+                throw new IllegalStateException("listener failed");
+            });
+            json.onChange("db.pool.size", changes::add);
+
+            var thread = Thread.currentThread();
+            var handler = thread.getUncaughtExceptionHandler();
+            thread.setUncaughtExceptionHandler((t, e) -> failures.add(e));
+            try {
+                Files.writeString(file, DOCUMENT.replace("\"size\": 10", "\"size\": 15"));
+
+                assertThat(json.reload())
+                        .containsExactly("db.pool.size");
+            } finally {
+                thread.setUncaughtExceptionHandler(handler);
+            }
+
+            assertThat(changes)
+                    .hasSize(1);
+            assertThat(failures)
+                    .singleElement()
+                    .isInstanceOf(IllegalStateException.class);
+            assertThat(json.read().getInteger("db.pool.size"))
+                    .isEqualTo(15);
+        }
+
+        @Test
+        void reloadAFileThatIsNotLoaded() throws IOException {
+            var file = directory.resolve("config.json");
+            Files.writeString(file, DOCUMENT);
+
+            assertThat(JSON.reload(file.toString()))
+                    .isEmpty();
+            assertThat(JSONFileLoader.getLoadedInstance(file.toString()))
+                    .isNotNull();
+            assertThat(JSON.readFile(file.toString()).getString("db.host"))
+                    .isEqualTo("localhost");
+        }
+
+        @Test
+        void keepTheDataWhenTheFileCantBeParsed() throws IOException {
+            var file = directory.resolve("config.json");
+            Files.writeString(file, DOCUMENT);
+            var json = new JSON(file.toString());
+            json.read();
+
+            Files.writeString(file, "{\"db\": ");
+
+            assertThatThrownBy(json::reload)
+                    .isInstanceOf(JSONFileException.class);
+            assertThat(json.read().getString("db.host"))
+                    .isEqualTo("localhost");
+        }
+
+        @Test
+        void reloadAJSONObject() {
+            var json = new JSON(Map.of("key", List.of()));
+
+            assertThatThrownBy(json::reload)
+                    .isInstanceOf(JSONFileException.class);
+        }
+    }
+}
@@ -2,9 +2,21 @@ package nsr_json;
 
 import exception.JSONFileException;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.NullAndEmptySource;
 
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Map;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.GZIPOutputStream;
+
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
 
@@ -43,4 +55,268 @@ class JSONFileLoaderTest {
                 () -> JSONFileLoader.getInstance("src/test/resources/wrong_file")
         ).isInstanceOf(JSONFileException.class);
     }
-}
\ No newline at end of file
+
+    @Test
+    void loadFileMemoryMapped() {
+        var data = JSONFileLoader.getInstance(filePath).getData();
+        JSONFileLoader.clearAll();
+
+        assertThat(JSONFileLoader.getInstance(filePath, new JSONLoadOptions().setMemoryMapped(true)).getData())
+                .isEqualTo(data);
+    }
+
+    @Test
+    void loadNotExistedFileMemoryMapped() {
+        assertThatThrownBy(
+                () -> JSONFileLoader.getInstance("src/test/resources/wrong_file", new JSONLoadOptions().setMemoryMapped(true))
+        ).isInstanceOf(JSONFileException.class);
+    }
+
+    @Test
+    void loadFileLazily() {
+        var data = JSONFileLoader.getInstance(filePath).getData();
+        JSONFileLoader.clearAll();
+
+        assertThat(JSONFileLoader.getInstance(filePath, new JSONLoadOptions().setLazy(true)).getData())
+                .isEqualTo(data);
+        JSONFileLoader.clearAll();
+
+        assertThat(JSONFileLoader.getInstance(filePath, new JSONLoadOptions().setLazy(true).setMemoryMapped(true)).getData())
+                .isEqualTo(data);
+    }
+
+    @Test
+    void loadFileAsyncSharesTheInFlightLoad() {
+        JSONFileLoader.clearAll();
+        var tasks = new ArrayList<Runnable>();
+
+        var first = JSONFileLoader.getInstanceAsync(filePath, new JSONLoadOptions(), tasks::add);
+        var second = JSONFileLoader.getInstanceAsync(filePath + ".json", new JSONLoadOptions(), tasks::add);
+
+        assertThat(first).isNotDone();
+        assertThat(second).isNotDone();
+        assertThat(tasks).hasSize(1);
+
+        tasks.get(0).run();
+        assertThat(second.join())
+                .isSameAs(first.join())
+                .isSameAs(JSONFileLoader.getInstance(filePath));
+        assertThat(JSONFileLoader.getInstanceAsync(filePath, new JSONLoadOptions(), tasks::add))
+                .isCompletedWithValue(first.join());
+    }
+
+    @Test
+    void loadNotExistedFileAsync() {
+        assertThatThrownBy(
+                () -> JSONFileLoader.getInstanceAsync("src/test/resources/wrong_file", new JSONLoadOptions(), null).join()
+        ).isInstanceOf(CompletionException.class)
+                .hasCauseInstanceOf(JSONFileException.class);
+    }
+
+    private static String compress(Path source, Path target) throws IOException {
+        try (var out = new GZIPOutputStream(Files.newOutputStream(target))) {
+            Files.copy(source, out);
+        }
+        return target.toString();
+    }
+
+    @Test
+    void loadGzipFile(@TempDir Path directory) throws IOException {
+        var data = JSONFileLoader.getInstance(filePath).getData();
+        var gzipPath = compress(Path.of(filePath + ".json"), directory.resolve("json_test.json.gz"));
+
+        assertThat(JSONFileLoader.getInstance(gzipPath).getData())
+                .isEqualTo(data);
+        JSONFileLoader.clearAll();
+
+        assertThat(JSONFileLoader.getInstance(gzipPath, new JSONLoadOptions().setMemoryMapped(true)).getData())
+                .isEqualTo(data);
+        JSONFileLoader.clearAll();
+
+        assertThat(JSONFileLoader.getInstance(gzipPath, new JSONLoadOptions().setLazy(true)).getData())
+                .isEqualTo(data);
+        JSONFileLoader.clearAll();
+    }
+
+    @Test
+    void loadGzipFileWithoutTheExtension(@TempDir Path directory) throws IOException {
+        var data = JSONFileLoader.getInstance(filePath).getData();
+        var gzipPath = compress(Path.of(filePath + ".json"), directory.resolve("json_test.json"));
+
+        assertThat(JSONFileLoader.getInstance(gzipPath).getData())
+                .isEqualTo(data);
+        assertThat(JSON.extractFile(gzipPath, "person.name"))
+                .containsEntry("person.name", "Ahmed");
+        JSONFileLoader.clearAll();
+    }
+
+    @Test
+    void loadCorruptedGzipFile(@TempDir Path directory) throws IOException {
+        var gzipPath = directory.resolve("corrupted.json.gz");
+        Files.write(gzipPath, new byte[]{(byte) 0x1f, (byte) 0x8b, 1, 2, 3});
+
+        assertThatThrownBy(
+                () -> JSONFileLoader.getInstance(gzipPath.toString())
+        ).isInstanceOf(JSONFileException.class);
+        assertThatThrownBy(
+                () -> JSONFileLoader.getInstance(gzipPath.toString(), new JSONLoadOptions().setMemoryMapped(true))
+        ).isInstanceOf(JSONFileException.class);
+    }
+
+    @Test
+    void loadFileOnceWhileOtherThreadsWait() throws Exception {
+        JSONFileLoader.clearAll();
+        var tasks = new ArrayList<Runnable>();
+        var load = JSONFileLoader.getInstanceAsync(filePath, new JSONLoadOptions(), tasks::add);
+
+        var executor = Executors.newFixedThreadPool(8);
+        try {
+            var waiters = new ArrayList<Future<JSONFileLoader>>();
+            for (var i = 0; i < 8; i++)
+                waiters.add(executor.submit(() -> JSONFileLoader.getInstance(filePath)));
+
+            Thread.sleep(50);
+            assertThat(waiters).noneMatch(Future::isDone);
+
+            tasks.get(0).run();
+            for (var waiter : waiters)
+                assertThat(waiter.get(10, TimeUnit.SECONDS))
+                        .isSameAs(load.join());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    void clearWhileTheFileIsLoading() {
+        JSONFileLoader.clearAll();
+        var tasks = new ArrayList<Runnable>();
+        var load = JSONFileLoader.getInstanceAsync(filePath, new JSONLoadOptions(), tasks::add);
+
+        JSONFileLoader.clearAll();
+        var newLoader = JSONFileLoader.getInstance(filePath);
+        tasks.get(0).run();
+
+        assertThat(load.join())
+                .isNotSameAs(newLoader);
+
+        load.join().clear();
+        assertThat(JSONFileLoader.getInstance(filePath))
+                .isSameAs(newLoader);
+
+        newLoader.clear();
+        assertThat(JSONFileLoader.getInstance(filePath))
+                .isNotSameAs(newLoader);
+    }
+
+    @Test
+    void loadFileAgainAfterFailure(@TempDir Path directory) throws IOException {
+        var path = directory.resolve("later.json");
+
+        assertThatThrownBy(
+                () -> JSONFileLoader.getInstance(path.toString())
+        ).isInstanceOf(JSONFileException.class);
+
+        Files.writeString(path, "{\"name\": \"later\"}");
+        assertThat(JSONFileLoader.getInstance(path.toString()).getData())
+                .isEqualTo(Map.of("name", "later"));
+    }
+
+    @Test
+    void revalidateTheChangedFile(@TempDir Path directory) throws Exception {
+        var path = directory.resolve("revalidated.json");
+        Files.writeString(path, "{\"name\": \"old\"}");
+        var options = new JSONLoadOptions().setRevalidationMillis(1);
+
+        var loader = JSONFileLoader.getInstance(path.toString(), options);
+        Files.writeString(path, "{\"name\": \"newer\"}");
+        Thread.sleep(5);
+
+        assertThat(JSONFileLoader.getInstance(path.toString(), options))
+                .isSameAs(loader);
+        assertThat(loader.getData())
+                .isEqualTo(Map.of("name", "newer"));
+        JSONFileLoader.clearAll();
+    }
+
+    @Test
+    void revalidateOnlyAfterTheInterval(@TempDir Path directory) throws Exception {
+        var path = directory.resolve("revalidated.json");
+        Files.writeString(path, "{\"name\": \"old\"}");
+        var options = new JSONLoadOptions().setRevalidationMillis(60_000);
+
+        var loader = JSONFileLoader.getInstance(path.toString(), options);
+        Files.writeString(path, "{\"name\": \"newer\"}");
+
+        assertThat(JSONFileLoader.getInstance(path.toString(), options).getData())
+                .isEqualTo(Map.of("name", "old"));
+        assertThat(loader.getData())
+                .isEqualTo(Map.of("name", "old"));
+        JSONFileLoader.clearAll();
+    }
+
+    @Test
+    void revalidateTheUnchangedFileWithoutLoading(@TempDir Path directory) throws Exception {
+        var path = directory.resolve("revalidated.json");
+        Files.writeString(path, "{\"name\": \"old\"}");
+        var options = new JSONLoadOptions().setRevalidationMillis(1);
+
+        var data = JSONFileLoader.getInstance(path.toString(), options).getData();
+        Thread.sleep(5);
+
+        assertThat(JSONFileLoader.getInstance(path.toString(), options).getData())
+                .isSameAs(data);
+        JSONFileLoader.clearAll();
+    }
+
+    @Test
+    void keepTheOptionsOfTheLoadWhenTheCallerChangesThem(@TempDir Path directory) throws Exception {
+        var path = directory.resolve("revalidated.json");
+        Files.writeString(path, "{\"name\": \"old\"}");
+        var options = new JSONLoadOptions().setRevalidationMillis(60_000);
+
+        var loader = JSONFileLoader.getInstance(path.toString(), options);
+        options.setRevalidationMillis(1);
+        Files.writeString(path, "{\"name\": \"newer\"}");
+        Thread.sleep(5);
+
+        assertThat(JSONFileLoader.getInstance(path.toString(), options).getData())
+                .isEqualTo(Map.of("name", "old"));
+        assertThat(loader.getData())
+                .isEqualTo(Map.of("name", "old"));
+        JSONFileLoader.clearAll();
+    }
+
+    @Test
+    void setNegativeRevalidationInterval() {
+        assertThatThrownBy(
+                () -> new JSONLoadOptions().setRevalidationMillis(-1)
+        ).isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void loadTheSameFileFromDifferentPaths() {
+        JSONFileLoader.clearAll();
+        var loader = JSONFileLoader.getInstance(filePath);
+
+        assertThat(JSONFileLoader.getInstance("./" + filePath + ".json"))
+                .isSameAs(loader);
+        assertThat(JSONFileLoader.getInstance("src/test/../test/resources/json_test"))
+                .isSameAs(loader);
+        assertThat(JSONFileLoader.getInstance(Path.of(filePath + ".json").toAbsolutePath().toString()))
+                .isSameAs(loader);
+    }
+
+    @Test
+    void loadTheSameFileFromSymbolicLink(@TempDir Path directory) throws IOException {
+        var file = directory.resolve("target.json");
+        Files.writeString(file, "{\"name\": \"target\"}");
+        var link = Files.createSymbolicLink(directory.resolve("link.json"), file);
+
+        assertThat(JSONFileLoader.getInstance(link.toString()))
+                .isSameAs(JSONFileLoader.getInstance(file.toString()));
+        assertThat(JSONFileLoader.canonicalPath(link.toString()))
+                .isEqualTo(file.toRealPath().toString());
+        JSONFileLoader.clearAll();
+    }
+}
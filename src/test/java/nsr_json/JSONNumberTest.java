@@ -0,0 +1,77 @@
+package nsr_json;
+
+import exception.ParsingException;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.util.List;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class JSONNumberTest {
+
+    private static Object parse(String json) throws IOException {
+        return JSONParser.parse(new ByteArrayInputStream(json.getBytes(UTF_8)), new JSONLoadOptions().setLazyNumbers(true));
+    }
+
+    @Nested
+    class ValidCases {
+        @ParameterizedTest
+        @ValueSource(strings = {"1.5", "-0.25", "1e3", "-2E-2", "6.02214076e+23", "1234567890.123456", "12345678901234567.25"})
+        void keepTheWrittenText(String text) throws IOException {
+            var number = (JSONNumber) parse(text);
+
+            assertThat(number.toString()).isEqualTo(text);
+            assertThat(number.doubleValue()).isEqualTo(Double.parseDouble(text));
+            assertThat(number.bigDecimalValue()).isEqualByComparingTo(new BigDecimal(text));
+        }
+
+        @Test
+        void decodeLargeIntegersExactly() throws IOException {
+            var number = (JSONNumber) parse("123456789012345678901234567890");
+
+            assertThat(number.isIntegral()).isTrue();
+            assertThat(number.bigDecimalValue()).isEqualTo(new BigDecimal("123456789012345678901234567890"));
+            assertThat(Parse.BigDecimal.apply(number)).isEqualTo(new BigDecimal("123456789012345678901234567890"));
+        }
+
+        @Test
+        void convertToIntegers() throws IOException {
+            var number = (JSONNumber) parse("-42.9");
+
+            assertThat(number.isIntegral()).isFalse();
+            assertThat(number.longValue()).isEqualTo(-42L);
+            assertThat(Parse.Integer.apply(number)).isEqualTo(-42);
+        }
+
+        @Test
+        void keepLongsDecoded() throws IOException {
+            assertThat(parse("[1, -9223372036854775808, 2.5]"))
+                    .isEqualTo(List.of(1L, Long.MIN_VALUE, parse("2.5")));
+        }
+
+        @Test
+        void compareNumbers() throws IOException {
+            assertThat(parse("0.125")).isEqualTo(parse("0.125")).hasSameHashCodeAs(parse("0.125"));
+            assertThat(parse("0.125")).isNotEqualTo(parse("0.1250"));
+            assertThat(parse("1.0000000000000000001")).isEqualTo(parse("1.0000000000000000001"));
+        }
+    }
+
+    @Nested
+    class InvalidCases {
+        @ParameterizedTest
+        @ValueSource(strings = {"-", "1e", "1e+", "1.2.3", "1-2", "2e3e4", "-.e1"})
+        void parseInvalidNumbers(String text) {
+            assertThatThrownBy(() -> parse(text))
+                    .isInstanceOf(ParsingException.class);
+        }
+    }
+}
@@ -0,0 +1,120 @@
+package nsr_json;
+
+import exception.ParsingException;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.math.BigInteger;
+import java.nio.ByteBuffer;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class JSONParserTest {
+
+    private static Object parse(String json) throws IOException {
+        return JSONParser.parse(new ByteArrayInputStream(json.getBytes(UTF_8)));
+    }
+
+    @Nested
+    class ValidCases {
+        @Test
+        void parseObject() throws IOException {
+            assertThat(parse("""
+                    {
+                      "string": "value",
+                      "integer": 35,
+                      "double": 10573.65,
+                      "boolean": true,
+                      "null": null
+                    }
+                    """))
+                    .isInstanceOf(Map.class)
+                    .isEqualTo(new HashMap<>() {{
+                        put("string", "value");
+                        put("integer", 35L);
+                        put("double", 10573.65);
+                        put("boolean", true);
+                        put("null", null);
+                    }});
+        }
+
+        @Test
+        void parseNestedArraysAndObjects() throws IOException {
+            assertThat(parse("{\"list\": [1, [2, 3], {\"key\": []}, {}]}"))
+                    .isEqualTo(Map.of("list", List.of(1L, List.of(2L, 3L), Map.of("key", List.of()), Map.of())));
+        }
+
+        @Test
+        void parseTopLevelArray() throws IOException {
+            assertThat(parse(" [ \"a\" , false ] "))
+                    .isEqualTo(List.of("a", false));
+        }
+
+        @Test
+        void parseNumbers() throws IOException {
+            assertThat(parse("[0, -1, 9223372036854775807, -9223372036854775808, 9223372036854775808, 1.5e3, -2E-2]"))
+                    .isEqualTo(List.of(
+                            0L, -1L, Long.MAX_VALUE, Long.MIN_VALUE,
+                            new BigInteger("9223372036854775808"), 1500.0, -0.02
+                    ));
+        }
+
+        @Test
+        void parseEscapesAndUnicode() throws IOException {
+            assertThat(parse("\"a\\\"b\\\\c\\/d\\n\\t\\u0041\\ud83d\\ude00 مرحبا 😀\""))
+                    .isEqualTo("a\"b\\c/d\n\tA\uD83D\uDE00 مرحبا 😀");
+        }
+
+        @Test
+        void parseFromHeapAndDirectBuffers() throws IOException {
+            var bytes = "xx{\"key\": \"value\"}".getBytes(UTF_8);
+            var direct = ByteBuffer.allocateDirect(bytes.length).put(bytes).flip().position(2);
+
+            assertThat(JSONParser.parse(ByteBuffer.wrap(bytes, 2, bytes.length - 2)))
+                    .isEqualTo(Map.of("key", "value"));
+            assertThat(JSONParser.parse(direct))
+                    .isEqualTo(Map.of("key", "value"));
+        }
+
+        @Test
+        void parseStringLongerThanTheBuffer() throws IOException {
+            var value = "ع".repeat(100_000);
+
+            assertThat(parse("{\"key\": \"" + value + "\"}"))
+                    .isEqualTo(Map.of("key", value));
+        }
+
+        @Test
+        void skipByteOrderMark() throws IOException {
+            assertThat(parse("\uFEFF{}"))
+                    .isEqualTo(Map.of());
+        }
+    }
+
+    @Nested
+    class InvalidCases {
+        @ParameterizedTest
+        @ValueSource(strings = {"", "{", "{\"key\" 1}", "{\"key\": 1,}", "[1 2]", "\"unterminated",
+                "tru", "-", "1.2.3", "{} {}", "[\"\\x\"]", "{key: 1}"})
+        void parseInvalidJSON(String json) {
+            assertThatThrownBy(() -> parse(json))
+                    .isInstanceOf(ParsingException.class);
+        }
+
+        @Test
+        void parseTooDeepJSON() {
+            assertThatThrownBy(() -> parse("[".repeat(2000) + "]".repeat(2000)))
+                    .isInstanceOf(ParsingException.class)
+                    .hasMessageContaining("nested deeper");
+        }
+    }
+}
@@ -0,0 +1,96 @@
+package nsr_json;
+
+import exception.InvalidKeyException;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.util.List;
+import java.util.Map;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class JSONPathExtractorTest {
+
+    private static Map<String, Object> extract(String json, String... keys) {
+        return JSON.extract(new ByteArrayInputStream(json.getBytes(UTF_8)), keys);
+    }
+
+    @Test
+    void extractNestedKeys() {
+        assertThat(extract("""
+                {
+                  "db": {"host": "localhost", "pool": {"size": 10}},
+                  "users": [{"name": "Ali"}, {"name": "Ahmed"}],
+                  "matrix": [[1, 2], [3, 4]]
+                }
+                """, "db.pool.size", "users[1].name", "matrix[1][0]"))
+                .isEqualTo(Map.of(
+                        "db.pool.size", 10L,
+                        "users[1].name", "Ahmed",
+                        "matrix[1][0]", 3L
+                ));
+    }
+
+    @Test
+    void extractKeyAndItsChild() {
+        assertThat(extract("{\"a\": {\"b\": [true]}}", "a.b[0]", "a"))
+                .isEqualTo(Map.of(
+                        "a", Map.of("b", List.of(true)),
+                        "a.b[0]", true
+                ));
+    }
+
+    @Test
+    void extractFromTopLevelArray() {
+        assertThat(extract("[{\"id\": 1}, {\"id\": 2}]", "[1].id"))
+                .isEqualTo(Map.of("[1].id", 2L));
+    }
+
+    @Test
+    void missingKeysAreNotIncluded() {
+        assertThat(extract("{\"a\": 1, \"b\": [1]}", "a", "c", "b[3]", "a.x"))
+                .isEqualTo(Map.of("a", 1L));
+    }
+
+    @Test
+    void stopReadingWhenAllKeysAreFound() {
+        // The invalid content after the wanted key is never reached
+        assertThat(extract("{\"a\": 1, \"b\": ", "a"))
+                .isEqualTo(Map.of("a", 1L));
+    }
+
+    @Test
+    void duplicatedKeysKeepTheirFirstValue() {
+        assertThat(extract("{\"a\": 1, \"a\": 2, \"b\": 3}", "a", "b"))
+                .isEqualTo(Map.of("a", 1L, "b", 3L));
+        assertThat(extract("{\"a\": 1, \"a\": 2}", "a"))
+                .isEqualTo(Map.of("a", 1L));
+        assertThat(extract("{\"a\": {\"x\": 1}, \"a\": {\"y\": 2}}", "a.x", "a.y"))
+                .isEqualTo(Map.of("a.x", 1L));
+        assertThat(extract("{\"a\": {\"x\": null}, \"a\": {\"x\": null}, \"b\": 3}", "a.x", "b"))
+                .containsEntry("a.x", null)
+                .containsEntry("b", 3L);
+    }
+
+    @Test
+    void notApplyTheEnvironmentsAndVariables() {
+        var json = "{\"variables\": {\"host\": \"local\"}, \"url\": \"http://${host}\", \"port@dev\": 80}";
+
+        assertThat(extract(json, "url", "port"))
+                .isEqualTo(Map.of("url", "http://${host}"));
+    }
+
+    @Test
+    void extractFromFile() {
+        assertThat(JSON.extractFile("src/test/resources/json_test.json", "person.children[2]", "pet.age"))
+                .isEqualTo(Map.of("person.children[2]", "Fatima", "pet.age", 5L));
+    }
+
+    @Test
+    void extractEmptyKey() {
+        assertThatThrownBy(() -> extract("{}", ""))
+                .isInstanceOf(InvalidKeyException.class);
+    }
+}
@@ -1653,6 +1653,34 @@ class JSONReaderTest {
                     .isEqualTo("test object");
         }
 
+        @Test
+        void keyWithEnvIsRenamed() {
+            var json = new JSONObject("""
+                    {
+                        "object@live": "live object",
+                        "object@test": "test object"
+                     }
+                    """);
+            when(jsonLoader.getData()).thenReturn(json.toMap());
+
+            MockedStatic<ConfigHandler> staticCH = Mockito.mockStatic(ConfigHandler.class);
+            staticCH.when(ConfigHandler::getInstance)
+                    .thenReturn(configHandler);
+
+            doReturn(Optional.of(List.of("live", "test")))
+                    .when(configHandler).getEnvironments();
+
+            var reader = new JSONReader(jsonLoader);
+            try {
+                assertThatThrownBy(() -> reader.getString("object@live"))
+                        .isInstanceOf(InvalidKeyException.class);
+                assertThat(reader.getString("object@test"))
+                        .isEqualTo("test object");
+            } finally {
+                staticCH.close();
+            }
+        }
+
         @Test
         void customObjectWithEnv() {
             var json = new JSONObject("""
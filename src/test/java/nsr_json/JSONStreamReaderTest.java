@@ -0,0 +1,117 @@
+package nsr_json;
+
+import exception.JSONFileException;
+import exception.ParsingException;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static nsr_json.JSONStreamReader.Token.*;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class JSONStreamReaderTest {
+
+    private static JSONStreamReader stream(String json) {
+        return JSON.stream(new ByteArrayInputStream(json.getBytes(UTF_8)));
+    }
+
+    @Nested
+    class ValidCases {
+        @Test
+        void readTokens() {
+            try (var reader = stream("{\"a\": [1, \"two\", true, null], \"b\": {}}")) {
+                assertThat(reader.peek()).isEqualTo(BEGIN_OBJECT);
+                reader.beginObject();
+                assertThat(reader.nextName()).isEqualTo("a");
+                reader.beginArray();
+                assertThat(reader.nextNumber()).isEqualTo(1L);
+                assertThat(reader.getPath()).isEqualTo("a[1]");
+                assertThat(reader.nextString()).isEqualTo("two");
+                assertThat(reader.nextBoolean()).isTrue();
+                assertThat(reader.peek()).isEqualTo(NULL);
+                reader.nextNull();
+                assertThat(reader.hasNext()).isFalse();
+                reader.endArray();
+                assertThat(reader.nextName()).isEqualTo("b");
+                reader.beginObject();
+                assertThat(reader.getPath()).isEqualTo("b");
+                reader.endObject();
+                reader.endObject();
+                assertThat(reader.peek()).isEqualTo(END_DOCUMENT);
+            }
+        }
+
+        @Test
+        void skipValues() {
+            try (var reader = stream("{\"skip\": {\"x\": [1, {\"y\": \"]}\"}]}, \"keep\": 5}")) {
+                reader.beginObject();
+                reader.skipValue();
+                assertThat(reader.nextName()).isEqualTo("keep");
+                assertThat(reader.nextNumber()).isEqualTo(5L);
+                reader.endObject();
+            }
+        }
+
+        @Test
+        void readWholeValues() {
+            var items = new ArrayList<>();
+            try (var reader = stream("[{\"a\": 1}, [2], \"3\"]")) {
+                reader.beginArray();
+                while (reader.hasNext())
+                    items.add(reader.nextValue());
+                reader.endArray();
+            }
+
+            assertThat(items).isEqualTo(List.of(Map.of("a", 1L), List.of(2L), "3"));
+        }
+
+        @Test
+        void streamFile() {
+            try (var reader = JSON.streamFile("src/test/resources/json_test")) {
+                reader.beginObject();
+                while (!reader.nextName().equals("person"))
+                    reader.skipValue();
+
+                reader.beginObject();
+                assertThat(reader.nextName()).isEqualTo("id");
+                assertThat(reader.nextString()).isEqualTo("12462164789564L");
+                assertThat(reader.getPath()).isEqualTo("person.id");
+            }
+        }
+    }
+
+    @Nested
+    class InvalidCases {
+        @Test
+        void readWrongToken() {
+            try (var reader = stream("[1]")) {
+                assertThatThrownBy(reader::beginObject)
+                        .isInstanceOf(ParsingException.class)
+                        .hasMessageContaining("BEGIN_OBJECT");
+            }
+        }
+
+        @Test
+        void readMissingSeparator() {
+            try (var reader = stream("[1 2]")) {
+                reader.beginArray();
+                reader.nextNumber();
+
+                assertThatThrownBy(reader::peek)
+                        .isInstanceOf(ParsingException.class);
+            }
+        }
+
+        @Test
+        void streamNotExistedFile() {
+            assertThatThrownBy(() -> JSON.streamFile("src/test/resources/wrong_file"))
+                    .isInstanceOf(JSONFileException.class);
+        }
+    }
+}
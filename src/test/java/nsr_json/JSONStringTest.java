@@ -0,0 +1,137 @@
+package nsr_json;
+
+import exception.JSONFileException;
+import exception.ParsingException;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class JSONStringTest {
+    private static final String JSON_CONTENT = """
+            {"plain": "value", "escaped": "a\\"b\\\\c\\u0041\\n", "unicode": "مرحبا 😀",
+             "bom": "\uFEFFx", "list": ["one", "t\\u0077o", 3], "nested": {"key": "deep"}}
+            """;
+
+    private static Object parse(String json, JSONLoadOptions options) throws IOException {
+        return JSONParser.parse(ByteBuffer.wrap(json.getBytes(UTF_8)), options);
+    }
+
+    private static JSONString slice(String json) throws IOException {
+        var tokenizer = new JSONTokenizer(ByteBuffer.wrap(json.getBytes(UTF_8)));
+        tokenizer.next();
+        return tokenizer.readStringSlice();
+    }
+
+    @Nested
+    class ValidCases {
+        @Test
+        void materializeWhenRead() throws IOException {
+            var sliced = (Map<?, ?>) parse(JSON_CONTENT, new JSONLoadOptions().setStringSlices(true));
+
+            assertThat(sliced).isEqualTo(parse(JSON_CONTENT, new JSONLoadOptions()));
+            assertThat(sliced.get("escaped")).isEqualTo("a\"b\\cA\n");
+            assertThat(sliced.get("bom")).isEqualTo("\uFEFFx");
+            assertThat(((List<?>) sliced.get("list")).get(1)).isEqualTo("two");
+            assertThat(sliced.values()).allMatch(value -> !(value instanceof JSONString));
+        }
+
+        @Test
+        void readFromDirectBuffers() throws IOException {
+            var bytes = JSON_CONTENT.getBytes(UTF_8);
+            var direct = ByteBuffer.allocateDirect(bytes.length).put(bytes).flip();
+
+            assertThat(JSONParser.parse(direct, new JSONLoadOptions().setStringSlices(true)))
+                    .isEqualTo(parse(JSON_CONTENT, new JSONLoadOptions()));
+        }
+
+        @Test
+        void readRootString() throws IOException {
+            assertThat(parse("\"root\"", new JSONLoadOptions().setStringSlices(true))).isEqualTo("root");
+        }
+
+        @Test
+        void decodeSlices() throws IOException {
+            assertThat(slice("  \"same\"")).hasToString("same");
+            assertThat(slice("\"\\u0073ame\"")).hasToString("same");
+            assertThat(slice("\"😀\"")).hasToString("😀");
+            assertThat(slice("\"same\"").hasEscapes()).isFalse();
+            assertThat(slice("\"a\\nb\"").hasEscapes()).isTrue();
+        }
+
+        @Test
+        void compareSlices() throws IOException {
+            assertThat(slice("\"same\"")).isEqualTo(slice("  \"same\"")).hasSameHashCodeAs("same");
+            assertThat(slice("\"\\u0073ame\"")).isEqualTo(slice("\"same\"")).hasSameHashCodeAs("same");
+            assertThat(slice("\"😀\"")).hasSameHashCodeAs("😀");
+            assertThat(slice("\"same\"")).isNotEqualTo(slice("\"some\""));
+            assertThat(slice("\"same\"").contentEquals("same")).isTrue();
+            assertThat(slice("\"same\"").contentEquals("sam")).isFalse();
+            assertThat(slice("\"same\"").contentEquals("samey")).isFalse();
+            assertThat(slice("\"\\u0073ame\"").contentEquals("same")).isTrue();
+            assertThat(slice("\"😀\"").contentEquals("😀")).isTrue();
+        }
+
+        @Test
+        void lookUpSlicedKeys() throws IOException {
+            var keys = IntStream.range(0, 20).mapToObj(i -> "\"key" + i + "\": " + i).collect(Collectors.joining(", "));
+            var json = "{" + keys + ", \"k\\u0065y3\": \"repeated\", \"ключ\": \"unicode\"}";
+            var sliced = (Map<?, ?>) parse(json, new JSONLoadOptions().setStringSlices(true));
+
+            assertThat(sliced).isEqualTo(parse(json, new JSONLoadOptions()));
+            assertThat(sliced.get("key3")).isEqualTo("repeated");
+            assertThat(sliced.get("key19")).isEqualTo(19L);
+            assertThat(sliced.get("ключ")).isEqualTo("unicode");
+            assertThat(sliced.containsKey("key20")).isFalse();
+            assertThat(sliced.keySet()).allMatch(key -> key instanceof String).hasSize(21);
+        }
+
+        @Test
+        void readFileWithStringSlices(@TempDir Path directory) throws IOException {
+            var file = directory.resolve("strings.json");
+            Files.writeString(file, JSON_CONTENT);
+
+            var reader = JSON.readFile(file.toString(), new JSONLoadOptions().setStringSlices(true));
+            JSON.closeAll();
+
+            assertThat(reader.getString("nested.key")).isEqualTo("deep");
+            assertThat(reader.getListAs("list", String.class)).isEqualTo(List.of("one", "two", "3"));
+        }
+    }
+
+    @Nested
+    class InvalidCases {
+        @Test
+        void parseInvalidEscape() {
+            assertThatThrownBy(() -> parse("[\"a\\x\"]", new JSONLoadOptions().setStringSlices(true)))
+                    .isInstanceOf(ParsingException.class);
+        }
+
+        @Test
+        void parseUnterminatedString() {
+            assertThatThrownBy(() -> parse("[\"abc", new JSONLoadOptions().setStringSlices(true)))
+                    .isInstanceOf(ParsingException.class);
+        }
+
+        @Test
+        void readInvalidFileWithStringSlices(@TempDir Path directory) throws IOException {
+            var file = directory.resolve("strings.json");
+            Files.writeString(file, "{\"a\": \"\\u12\"}");
+
+            assertThatThrownBy(() -> JSON.readFile(file.toString(), new JSONLoadOptions().setStringSlices(true)))
+                    .isInstanceOf(JSONFileException.class);
+        }
+    }
+}
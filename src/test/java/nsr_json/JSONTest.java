@@ -9,14 +9,17 @@ import test_helper.Pet;
 
 import java.text.ParseException;
 import java.text.SimpleDateFormat;
+import java.time.Duration;
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
 import java.util.Calendar;
 import java.util.List;
 import java.util.Map;
 import java.util.TimeZone;
+import java.util.concurrent.ExecutionException;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
 
 class JSONTest {
     private static JSON json;
@@ -42,6 +45,58 @@ class JSONTest {
                     .isEqualTo("Ahmed");
         }
 
+        @Test
+        void readFileAsync() {
+            assertThat(JSON.readFileAsync("src/test/resources/json_test.json").join().get("person.name"))
+                    .isEqualTo("Ahmed");
+        }
+
+        @Test
+        void readFileWithNullOptions() {
+            assertThatThrownBy(() -> JSON.readFile("src/test/resources/json_test.json", null))
+                    .isInstanceOf(IllegalArgumentException.class)
+                    .hasMessage("Load options can't be null");
+            assertThat(JSON.readFileAsync("src/test/resources/json_test.json", null, null))
+                    .failsWithin(Duration.ZERO)
+                    .withThrowableOfType(ExecutionException.class)
+                    .withCauseInstanceOf(IllegalArgumentException.class);
+            assertThatThrownBy(() -> new JSON("src/test/resources/json_test.json", null))
+                    .isInstanceOf(IllegalArgumentException.class);
+        }
+
+        @Test
+        void readFileWithLazyNumbers() {
+            JSON.closeAll();
+
+            var reader = JSON.readFile("src/test/resources/json_test.json", new JSONLoadOptions().setLazyNumbers(true));
+            JSON.closeAll();
+
+            assertThat(reader.get("person.balance"))
+                    .isInstanceOf(JSONNumber.class);
+            assertThat(reader.getDouble("person.balance"))
+                    .isEqualTo(10573.65);
+            assertThat(reader.getAs("person.balance", Parse.BigDecimal))
+                    .isEqualByComparingTo("10573.65");
+            assertThat(reader.getInteger("person.importantNumbers.roomNumber"))
+                    .isEqualTo(415);
+        }
+
+        @Test
+        void readFileLazily() {
+            JSON.closeAll();
+
+            var reader = JSON.readFile("src/test/resources/json_test.json", new JSONLoadOptions().setLazy(true));
+            JSON.closeAll();
+
+            assertThat(reader.getInteger("person.importantNumbers.roomNumber"))
+                    .isEqualTo(415);
+            assertThat(reader.getListAs("pets", Pet.class))
+                    .isEqualTo(List.of(
+                            new Pet().setName("Lucy").setAge(10),
+                            new Pet().setName("Milo").setAge(11)
+                    ));
+        }
+
         @Test
         void readString() {
             assertThat(json.read().getString("person.name"))
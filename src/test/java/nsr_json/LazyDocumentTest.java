@@ -0,0 +1,132 @@
+package nsr_json;
+
+import exception.InvalidKeyException;
+import exception.ParsingException;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class LazyDocumentTest {
+
+    private static Object parse(String json) {
+        return LazyDocument.parse(ByteBuffer.wrap(json.getBytes(UTF_8)));
+    }
+
+    @Nested
+    class ValidCases {
+        @Test
+        void parseAsTheEagerParser() throws IOException {
+            var bytes = Files.readAllBytes(Path.of("src/test/resources/json_test.json"));
+
+            assertThat(LazyDocument.parse(ByteBuffer.wrap(bytes)))
+                    .isEqualTo(JSONParser.parse(ByteBuffer.wrap(bytes)));
+        }
+
+        @Test
+        void parseFromDirectBuffer() {
+            var bytes = "{\"key\": [1, \"two\", {\"three\": 3.0}]}".getBytes(UTF_8);
+            var direct = ByteBuffer.allocateDirect(bytes.length).put(bytes).flip();
+
+            assertThat(LazyDocument.parse(direct))
+                    .isEqualTo(Map.of("key", List.of(1L, "two", Map.of("three", 3.0))));
+        }
+
+        @Test
+        void readNestedValue() {
+            var map = (Map<?, ?>) parse("{\"a\": {\"b\": [null, \"x,y}\\\"\"]}, \"c\": true}");
+
+            assertThat(((List<?>) ((Map<?, ?>) map.get("a")).get("b")).get(1))
+                    .isEqualTo("x,y}\"");
+            assertThat(map.get("c"))
+                    .isEqualTo(true);
+        }
+
+        @Test
+        void duplicatedKeyKeepsTheLastValue() {
+            assertThat(parse("{\"a\": 1, \"a\": 2}"))
+                    .isEqualTo(Map.of("a", 2L));
+        }
+
+        @Test
+        void parseScalarRoot() {
+            assertThat(parse(" \"value\" "))
+                    .isEqualTo("value");
+        }
+
+        @Test
+        void readOnlyViews() {
+            var map = (Map<String, Object>) parse("{\"a\": []}");
+
+            assertThatThrownBy(() -> map.put("b", 1))
+                    .isInstanceOf(UnsupportedOperationException.class);
+            assertThatThrownBy(() -> ((List<Object>) map.get("a")).add(1))
+                    .isInstanceOf(UnsupportedOperationException.class);
+        }
+    }
+
+    @Nested
+    class InvalidCases {
+        @ParameterizedTest
+        @ValueSource(strings = {"", "{", "[}", "\"unterminated", "{} {}", "]",
+                "{\"a\": 1,}", "[1, 2,]", "[,1]", "{,\"a\": 1}", "[1,,2]", "{\"a\": [1,], \"b\": 2}"})
+        void parseInvalidStructure(String json) {
+            assertThatThrownBy(() -> parse(json))
+                    .isInstanceOf(ParsingException.class);
+        }
+
+        @Test
+        void invalidValueIsReportedWhenRead() {
+            var list = (List<?>) parse("[1, tru]");
+
+            assertThat(list.get(0))
+                    .isEqualTo(1L);
+            assertThatThrownBy(() -> list.get(1))
+                    .isInstanceOf(ParsingException.class);
+        }
+
+        @Test
+        void readerDoesntDecodeTheValuesItDoesntRead(@TempDir Path directory) throws IOException {
+            var file = Files.writeString(directory.resolve("lazy.json"),
+                    "{\"name\": \"Ahmed\", \"broken\": tru, \"list\": [1, tru, 3]}");
+
+            try {
+                var reader = JSON.readFile(file.toString(), new JSONLoadOptions().setLazy(true));
+
+                assertThat(reader.getString("name"))
+                        .isEqualTo("Ahmed");
+                assertThat(reader.getInteger("list[2]"))
+                        .isEqualTo(3);
+                assertThatThrownBy(() -> reader.get("missing"))
+                        .isInstanceOf(InvalidKeyException.class)
+                        .hasMessageContaining("missing");
+                assertThatThrownBy(() -> reader.get("list[5]"))
+                        .isInstanceOf(InvalidKeyException.class);
+                assertThatThrownBy(() -> reader.get("broken"))
+                        .isInstanceOf(ParsingException.class);
+            } finally {
+                JSON.closeAll();
+            }
+        }
+
+        @Test
+        void missingColonIsReportedWhenRead() {
+            var map = (Map<?, ?>) parse("{\"a\" 1}");
+
+            assertThatThrownBy(() -> map.get("a"))
+                    .isInstanceOf(ParsingException.class);
+        }
+    }
+}
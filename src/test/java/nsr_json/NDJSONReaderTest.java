@@ -0,0 +1,76 @@
+package nsr_json;
+
+import exception.JSONFileException;
+import exception.ParsingException;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import test_helper.Pet;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class NDJSONReaderTest {
+    @TempDir
+    Path directory;
+
+    private String writeLines(String content) throws IOException {
+        var file = directory.resolve("events.ndjson");
+        Files.writeString(file, content);
+        return file.toString();
+    }
+
+    @Test
+    void readLinesInOrder() throws IOException {
+        var count = 20_000;
+        var filePath = writeLines(IntStream.range(0, count)
+                .mapToObj(i -> "{\"id\": " + i + ", \"name\": \"event-" + i + "\"}")
+                .collect(Collectors.joining("\n", "", "\n")));
+
+        assertThat(JSON.readLines(filePath).isParallel())
+                .isFalse();
+        assertThat(JSON.readLines(filePath).map(reader -> reader.getInteger("id")).toList())
+                .isEqualTo(IntStream.range(0, count).boxed().toList());
+        assertThat(JSON.readLines(filePath).parallel().map(reader -> reader.getInteger("id")).toList())
+                .isEqualTo(IntStream.range(0, count).boxed().toList());
+    }
+
+    @Test
+    void skipBlankLines() throws IOException {
+        var filePath = writeLines("\n{\"a\": 1}\r\n  \n[2]\n\n\"3\"");
+
+        assertThat(JSON.readLines(filePath).map(JSONReader::getAll).toList())
+                .hasSize(3);
+    }
+
+    @Test
+    void readLinesAsCustomObjects() throws IOException {
+        var filePath = writeLines("{\"name\": \"Lucy\", \"age\": 10}\n{\"name\": \"Milo\", \"age\": 11}\n");
+
+        assertThat(JSON.readLinesAs(filePath, Pet.class).toList())
+                .containsExactly(
+                        new Pet().setName("Lucy").setAge(10),
+                        new Pet().setName("Milo").setAge(11)
+                );
+    }
+
+    @Test
+    void readInvalidLine() throws IOException {
+        var filePath = writeLines("{\"a\": 1}\n{\"a\": \n");
+
+        assertThatThrownBy(() -> JSON.readLines(filePath).toList())
+                .isInstanceOf(ParsingException.class)
+                .hasMessageContaining("position [9]");
+    }
+
+    @Test
+    void readNotExistedFile() {
+        assertThatThrownBy(() -> JSON.readLines("src/test/resources/wrong_file.ndjson"))
+                .isInstanceOf(JSONFileException.class);
+    }
+}
@@ -0,0 +1,100 @@
+package nsr_json;
+
+import exception.JSONFileException;
+import exception.ParsingException;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class ParallelArrayParserTest {
+    private static final String LARGE_ARRAY = IntStream.range(0, 30_000)
+            .mapToObj(i -> "{\"id\": " + i + ", \"tags\": [\"a,b\", \"]\\\"}\"], \"nested\": {\"x\": [" + i + "]}}")
+            .collect(Collectors.joining(",\n  ", "\uFEFF[\n  ", "\n]\n"));
+
+    private static Object parse(String json) throws IOException {
+        return ParallelArrayParser.parse(ByteBuffer.wrap(json.getBytes(UTF_8)), new JSONLoadOptions());
+    }
+
+    @Nested
+    class ValidCases {
+        @Test
+        void parseLargeArray() throws IOException {
+            assertThat(parse(LARGE_ARRAY))
+                    .isEqualTo(JSONParser.parse(ByteBuffer.wrap(LARGE_ARRAY.getBytes(UTF_8))));
+        }
+
+        @Test
+        void parseSmallDocuments() throws IOException {
+            assertThat(parse("[]")).isEqualTo(List.of());
+            assertThat(parse("{\"a\": [1, 2]}")).isEqualTo(JSONParser.parse(ByteBuffer.wrap("{\"a\": [1, 2]}".getBytes(UTF_8))));
+        }
+
+        @Test
+        void parseEmptyLargeArray() throws IOException {
+            assertThat(parse("[" + " ".repeat(1 << 20) + "]")).isEqualTo(List.of());
+        }
+
+        @Test
+        void readFileInParallel(@TempDir Path directory) throws IOException {
+            var file = directory.resolve("items.json");
+            Files.writeString(file, LARGE_ARRAY);
+
+            var json = JSON.readFile(file.toString(), new JSONLoadOptions().setParallel(true));
+            assertThat(json.getInteger("[29999].nested.x[0]")).isEqualTo(29999);
+        }
+    }
+
+    @Nested
+    class InvalidCases {
+        @Test
+        void parseInvalidItem() {
+            var json = LARGE_ARRAY.replace("{\"id\": 20000,", "{\"id\": 20000");
+
+            assertThatThrownBy(() -> parse(json))
+                    .isInstanceOf(ParsingException.class);
+        }
+
+        @Test
+        void parseMissingItem() {
+            var json = LARGE_ARRAY.replace("\n]", ",\n]");
+
+            assertThatThrownBy(() -> parse(json))
+                    .isInstanceOf(ParsingException.class);
+        }
+
+        @Test
+        void parseWrongClosingBracket() {
+            var json = LARGE_ARRAY.replace("\n]", "\n}");
+
+            assertThatThrownBy(() -> parse(json))
+                    .isInstanceOf(ParsingException.class);
+        }
+
+        @Test
+        void parseValueAfterTheArray() {
+            assertThatThrownBy(() -> parse(LARGE_ARRAY + "[]"))
+                    .isInstanceOf(ParsingException.class);
+        }
+
+        @Test
+        void readInvalidFileInParallel(@TempDir Path directory) throws IOException {
+            var file = directory.resolve("items.json");
+            Files.writeString(file, LARGE_ARRAY + "}");
+
+            assertThatThrownBy(() -> JSON.readFile(file.toString(), new JSONLoadOptions().setParallel(true)))
+                    .isInstanceOf(JSONFileException.class);
+        }
+    }
+}
@@ -0,0 +1,177 @@
+package nsr_json;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.nio.file.attribute.FileTime;
+import java.util.Map;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class ParseCacheTest {
+    private static final String DOCUMENT = "{\"name\": \"Ahmed\", \"balance\": 10.5, \"numbers\": [1, 2, 3]}";
+
+    @TempDir
+    Path directory;
+    private Path cache;
+    private Path file;
+
+    @BeforeEach
+    void setup() throws IOException {
+        cache = directory.resolve("cache");
+        file = directory.resolve("document.json");
+        Files.writeString(file, DOCUMENT);
+    }
+
+    @AfterEach
+    void clear() {
+        JSON.closeAll();
+    }
+
+    private JSONLoadOptions options() {
+        return new JSONLoadOptions().setParseCache(cache.toString());
+    }
+
+    private Path entryOf(JSONLoadOptions options) {
+        var content = ByteBuffer.wrap(DOCUMENT.getBytes(UTF_8));
+        return ParseCache.pathOf(cache, ParseCache.hash(content), content.remaining(), options);
+    }
+
+    @Nested
+    class ValidCases {
+        @Test
+        void hashTheContent() {
+            var content = ByteBuffer.wrap(DOCUMENT.getBytes(UTF_8));
+
+            assertThat(ParseCache.hash(content))
+                    .isEqualTo(ParseCache.hash(ByteBuffer.wrap(DOCUMENT.getBytes(UTF_8))))
+                    .isNotEqualTo(ParseCache.hash(ByteBuffer.wrap(DOCUMENT.replace('1', '2').getBytes(UTF_8))));
+            assertThat(content.position())
+                    .isZero();
+        }
+
+        @Test
+        void writeTheParsedDocument() {
+            var data = JSONFileLoader.getInstance(file.toString(), options()).getData();
+
+            assertThat(entryOf(options()))
+                    .exists();
+            assertThat(data)
+                    .isEqualTo(JSONFileLoader.getInstance(file.toString()).getData());
+        }
+
+        @Test
+        void readTheCachedDocumentOfTheSameContent() throws IOException {
+            JSONFileLoader.getInstance(file.toString(), options());
+            JSON.closeAll();
+
+            // A cached document with a recognizable value proves that the file is not parsed again
+            var content = ByteBuffer.wrap(DOCUMENT.getBytes(UTF_8));
+            ParseCache.write(Map.of("name", "cached"), entryOf(options()), ParseCache.hash(content),
+                    content.remaining(), Long.MAX_VALUE);
+
+            var copy = Files.writeString(directory.resolve("copy.json"), DOCUMENT);
+            assertThat(JSON.readFile(copy.toString(), options()).getString("name"))
+                    .isEqualTo("cached");
+        }
+
+        @Test
+        void readTheCachedDocumentOfALargeFile() throws IOException {
+            var json = new StringBuilder("[");
+            for (var i = 0; i < 5000; i++)
+                json.append(i == 0 ? "" : ",").append("{\"id\": ").append(i)
+                        .append(", \"name\": \"item ").append(i).append("\"}");
+            var large = Files.writeString(directory.resolve("large.json"), json.append(']'));
+            var data = JSONFileLoader.getInstance(large.toString(), options()).getData();
+            JSON.closeAll();
+
+            var content = ByteBuffer.wrap(Files.readAllBytes(large));
+            var hash = ParseCache.hash(content);
+            var entry = ParseCache.pathOf(cache, hash, content.remaining(), options());
+            var entryKey = Files.readAttributes(entry, BasicFileAttributes.class).fileKey();
+
+            assertThat(Files.size(entry))
+                    .isGreaterThan(64 * 1024);
+            assertThat(ParseCache.read(entry, hash, content.remaining(), options()))
+                    .isEqualTo(data);
+            assertThat(JSONFileLoader.getInstance(large.toString(), options()).getData())
+                    .isEqualTo(data);
+            // The entry is not written again after a hit
+            assertThat(Files.readAttributes(entry, BasicFileAttributes.class).fileKey())
+                    .isEqualTo(entryKey);
+        }
+
+        @Test
+        void parseAgainWhenTheCachedDocumentIsCorrupted() throws IOException {
+            Files.createDirectories(cache);
+            Files.write(entryOf(options()), new byte[]{1, 2, 3});
+
+            assertThat(JSON.readFile(file.toString(), options()).getString("name"))
+                    .isEqualTo("Ahmed");
+            assertThat(Files.size(entryOf(options())))
+                    .isGreaterThan(3);
+        }
+
+        @Test
+        void keepTheLazyNumbersApart() {
+            var lazyOptions = options().setLazyNumbers(true);
+            JSONFileLoader.getInstance(file.toString(), lazyOptions);
+
+            assertThat(entryOf(lazyOptions))
+                    .exists()
+                    .isNotEqualTo(entryOf(options()));
+            assertThat(entryOf(options()))
+                    .doesNotExist();
+        }
+
+        @Test
+        void deleteTheLeastRecentlyUsedDocuments() throws IOException {
+            Files.createDirectories(cache);
+            var old = Files.write(cache.resolve("old" + BinarySnapshot.EXTENSION), new byte[100]);
+            var recent = Files.write(cache.resolve("recent" + BinarySnapshot.EXTENSION), new byte[100]);
+            var other = Files.write(cache.resolve("notes.txt"), new byte[1000]);
+            Files.setLastModifiedTime(old, FileTime.fromMillis(1000));
+
+            ParseCache.cleanUp(cache, 150);
+
+            assertThat(old).doesNotExist();
+            assertThat(recent).exists();
+            assertThat(other).exists();
+        }
+    }
+
+    @Nested
+    class InvalidCases {
+        @Test
+        void setEmptyDirectory() {
+            assertThatThrownBy(
+                    () -> new JSONLoadOptions().setParseCache(" ")
+            ).isInstanceOf(IllegalArgumentException.class);
+        }
+
+        @Test
+        void setNonPositiveMaxBytes() {
+            assertThatThrownBy(
+                    () -> new JSONLoadOptions().setParseCacheMaxBytes(0)
+            ).isInstanceOf(IllegalArgumentException.class);
+        }
+
+        @Test
+        void loadWhenTheCacheCantBeWritten() throws IOException {
+            Files.writeString(cache, "not a directory");
+
+            assertThat(JSON.readFile(file.toString(), options()).getString("name"))
+                    .isEqualTo("Ahmed");
+        }
+    }
+}
@@ -0,0 +1,136 @@
+package nsr_json;
+
+import exception.ParsingException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class SnapshotDocumentTest {
+    private static final String JSON_CONTENT = """
+            {"name": "nsr", "list": [1, 2.5, "ثلاثة", null, true, [], {}],
+             "�": "replacement", "😀": "emoji", "": "empty",
+             "nested": {"list": [{"name": "a"}, {"name": "b"}]}}
+            """;
+
+    @TempDir
+    Path directory;
+
+    @AfterEach
+    void closeAll() {
+        JSON.closeAll();
+    }
+
+    private Object open(Object data) throws IOException {
+        var path = directory.resolve("document" + BinarySnapshot.EXTENSION);
+        BinarySnapshot.write(data, 0, 0, 0, path);
+        return SnapshotDocument.open(ByteBuffer.wrap(Files.readAllBytes(path)));
+    }
+
+    private static Object parse(String json) throws IOException {
+        return JSONParser.parse(ByteBuffer.wrap(json.getBytes(UTF_8)));
+    }
+
+    @Nested
+    class ValidCases {
+        @Test
+        void navigateInPlace() throws IOException {
+            var data = parse(JSON_CONTENT);
+            var document = (Map<?, ?>) open(data);
+
+            assertThat(document).isEqualTo(data);
+            assertThat(document.get("😀")).isEqualTo("emoji");
+            assertThat(document.get("�")).isEqualTo("replacement");
+            assertThat(document.get("")).isEqualTo("empty");
+            assertThat(document.containsKey("missing")).isFalse();
+            assertThat(((List<?>) document.get("list")).get(2)).isEqualTo("ثلاثة");
+        }
+
+        @Test
+        void findKeysOfLargeObjects() throws IOException {
+            var data = new HashMap<String, Object>();
+            IntStream.range(0, 1000).forEach(i -> data.put("key" + i, i % 2 == 0 ? (long) i : Map.of("key" + i, "v")));
+            var document = (Map<?, ?>) open(data);
+
+            assertThat(document.get("key998")).isEqualTo(998L);
+            assertThat(document.get("key999")).isEqualTo(Map.of("key999", "v"));
+            assertThat(document.get("key1000")).isNull();
+            assertThat(document.keySet()).hasSize(1000);
+        }
+
+        @Test
+        void readFileFromMappedSnapshot() throws IOException {
+            var file = directory.resolve("reference.json");
+            Files.writeString(file, JSON_CONTENT);
+            var options = new JSONLoadOptions().setSnapshot(true).setLazy(true);
+
+            var first = JSON.readFile(file.toString(), options);
+            JSON.closeAll();
+            var second = JSON.readFile(file.toString(), options);
+
+            assertThat(first.getAll()).isEqualTo(parse(JSON_CONTENT));
+            assertThat(second.getAll().getClass().getEnclosingClass()).isEqualTo(SnapshotDocument.class);
+            assertThat(second.getString("nested.list[1].name")).isEqualTo("b");
+            assertThat(second.getInteger("list[0]")).isEqualTo(1);
+        }
+
+        @Test
+        void readLargeFileFromMappedSnapshot() throws IOException {
+            var file = directory.resolve("large.json");
+            var json = new StringBuilder("[");
+            for (var i = 0; i < 5000; i++)
+                json.append(i == 0 ? "" : ",").append("{\"id\": ").append(i)
+                        .append(", \"name\": \"item ").append(i).append("\", \"tags\": [\"a\", \"b\"]}");
+            Files.writeString(file, json.append(']'));
+            var options = new JSONLoadOptions().setSnapshot(true).setLazy(true);
+
+            var first = JSON.readFile(file.toString(), options);
+            JSON.closeAll();
+            var second = JSON.readFile(file.toString(), options);
+
+            assertThat(Files.size(BinarySnapshot.pathOf(file.toString()))).isGreaterThan(64 * 1024);
+            assertThat(first.getString("[4999].name")).isEqualTo("item 4999");
+            assertThat(second.getAll().getClass().getEnclosingClass()).isEqualTo(SnapshotDocument.class);
+            assertThat(second.getString("[4999].name")).isEqualTo("item 4999");
+            assertThat(second.getString("[2500].tags[1]")).isEqualTo("b");
+        }
+
+        @Test
+        void readScalarRoot() throws IOException {
+            assertThat(open("only a string")).isEqualTo("only a string");
+        }
+    }
+
+    @Nested
+    class InvalidCases {
+        @Test
+        void openOtherFormat() {
+            var bytes = ByteBuffer.wrap(IntStream.range(0, 64).mapToObj(i -> "x").collect(Collectors.joining()).getBytes(UTF_8));
+
+            assertThatThrownBy(() -> SnapshotDocument.open(bytes))
+                    .isInstanceOf(ParsingException.class);
+        }
+
+        @Test
+        void getOutOfRange() throws IOException {
+            var list = (List<?>) open(List.of(1L));
+
+            assertThatThrownBy(() -> list.get(1))
+                    .isInstanceOf(IndexOutOfBoundsException.class);
+        }
+    }
+}
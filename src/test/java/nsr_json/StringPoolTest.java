@@ -0,0 +1,74 @@
+package nsr_json;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.IntStream;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.assertj.core.api.Assertions.assertThat;
+
+class StringPoolTest {
+    private final JSONLoadOptions options = new JSONLoadOptions().setInterning(true).setInternedValueLength(5);
+
+    @SuppressWarnings("unchecked")
+    private Map<String, Object> parse(String json) throws IOException {
+        return (Map<String, Object>) JSONParser.parse(new ByteArrayInputStream(json.getBytes(UTF_8)), options);
+    }
+
+    private static String keyOf(Map<String, Object> map, String key) {
+        return map.keySet().stream().filter(key::equals).findFirst().orElseThrow();
+    }
+
+    @Test
+    void shareKeysAcrossDocuments() throws IOException {
+        var first = parse("{\"identifier\": 1, \"naïve-key\": 2}");
+        var second = parse("{\"identifier\": 3, \"naïve-key\": 4}");
+
+        assertThat(keyOf(first, "identifier")).isSameAs(keyOf(second, "identifier"));
+        assertThat(keyOf(first, "naïve-key")).isSameAs(keyOf(second, "naïve-key"));
+    }
+
+    @Test
+    void shareOnlyShortValues() throws IOException {
+        var first = parse("{\"a\": \"short\", \"b\": \"a longer value\"}");
+        var second = parse("{\"a\": \"short\", \"b\": \"a longer value\"}");
+
+        assertThat(first.get("a")).isSameAs(second.get("a"));
+        assertThat(first.get("b")).isEqualTo(second.get("b")).isNotSameAs(second.get("b"));
+    }
+
+    @Test
+    void shareOnlyShortKeys() throws IOException {
+        var longKey = "k".repeat(StringPool.MAX_KEY_LENGTH + 1);
+        var first = parse("{\"" + longKey + "\": 1}");
+        var second = parse("{\"" + longKey + "\": 2}");
+
+        assertThat(keyOf(first, longKey)).isEqualTo(keyOf(second, longKey)).isNotSameAs(keyOf(second, longKey));
+    }
+
+    @Test
+    void countSavedBytes() throws IOException {
+        var before = JSON.getStringPoolStats();
+        parse("{\"stats-key\": [\"x\", \"x\", \"x\"]}");
+        var after = JSON.getStringPoolStats();
+
+        assertThat(after.getHits() - before.getHits()).isGreaterThanOrEqualTo(2);
+        assertThat(after.getSavedBytes() - before.getSavedBytes()).isGreaterThanOrEqualTo(2 * 48);
+    }
+
+    @Test
+    void internManyStrings() {
+        var pool = StringPool.shared();
+        var values = IntStream.range(0, 10_000).mapToObj(i -> "value-" + i).toList();
+        var pooled = values.stream().map(pool::intern).toList();
+
+        assertThat(values.stream().map(v -> pool.intern(new String(v))).toList())
+                .usingElementComparator((a, b) -> a == b ? 0 : 1)
+                .isEqualTo(pooled);
+        assertThat(pooled).isEqualTo(List.copyOf(values));
+    }
+}
@@ -0,0 +1,79 @@
+package nsr_json;
+
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.concurrent.Callable;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Compares the scalar and the vectorized structural index and the load modes that use them.
+ * <p>
+ * It's not a part of the default test run, run it with "mvn test -Pbenchmark,vector" to include the Vector API.
+ * The size of the generated document is set with "-Dbenchmark.megabytes" and the measured rounds
+ * with "-Dbenchmark.rounds", every case is warmed up with the same number of rounds first.
+ */
+class StructuralIndexBenchmark {
+    private static final int MEGABYTES = Integer.getInteger("benchmark.megabytes", 32);
+    private static final int ROUNDS = Integer.getInteger("benchmark.rounds", 10);
+    private static ByteBuffer document;
+
+    @BeforeAll
+    static void generateDocument() {
+        var json = new StringBuilder("[");
+        for (var i = 0; json.length() < MEGABYTES * 1024 * 1024; i++) {
+            if (i > 0)
+                json.append(',');
+            json.append("{\"id\": ").append(i)
+                    .append(", \"name\": \"user ").append(i).append("\", \"escaped\": \"a\\\"b\\\\c\"")
+                    .append(", \"balance\": ").append(i * 1.5)
+                    .append(", \"active\": ").append(i % 2 == 0)
+                    .append(", \"tags\": [\"one\", \"two\", {\"nested\": null}]}");
+        }
+        document = ByteBuffer.wrap(json.append(']').toString().getBytes(UTF_8));
+
+        System.out.printf("Document: %d MB, Vector API available: %b%n",
+                document.remaining() / (1024 * 1024), StructuralIndex.isVectorApiAvailable());
+    }
+
+    @Test
+    void buildIndex() {
+        var scalar = StructuralIndex.build(document.duplicate(), false);
+        var vectorized = StructuralIndex.build(document.duplicate(), true);
+        assertThat(vectorized.size()).isEqualTo(scalar.size());
+
+        measure("Scalar index", () -> StructuralIndex.build(document.duplicate(), false));
+        measure("Vectorized index", () -> StructuralIndex.build(document.duplicate(), true));
+    }
+
+    @Test
+    void loadDocument() {
+        measure("Eager parse", () -> JSONParser.parse(document.duplicate(), new JSONLoadOptions()));
+        measure("Lazy parse", () -> LazyDocument.parse(document.duplicate(), false));
+        measure("Lazy vectorized parse", () -> LazyDocument.parse(document.duplicate(), true));
+    }
+
+    // Prints the minimum and the median time of the measured rounds after the warm-up rounds
+    private static void measure(String name, Callable<?> task) {
+        var times = new long[ROUNDS];
+        try {
+            for (var round = 0; round < ROUNDS; round++)
+                task.call();
+            for (var round = 0; round < ROUNDS; round++) {
+                var start = System.nanoTime();
+                task.call();
+                times[round] = System.nanoTime() - start;
+            }
+        } catch (Exception e) {
+            throw new AssertionError(name + " failed", e);
+        }
+
+        Arrays.sort(times);
+        System.out.printf("%-24s min %8.2f ms, median %8.2f ms%n",
+                name, times[0] / 1e6, times[ROUNDS / 2] / 1e6);
+    }
+}
@@ -0,0 +1,92 @@
+package nsr_json;
+
+import exception.ParsingException;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.nio.ByteBuffer;
+import java.util.Random;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+class StructuralIndexTest {
+
+    @Test
+    void indexStructuralBytes() {
+        var index = StructuralIndex.build(ByteBuffer.wrap("{\"a\\\"]\": [1, true]}".getBytes(UTF_8)));
+
+        assertThat(index.size()).isEqualTo(9);
+        assertThat(index.position(1)).isEqualTo(1);
+        assertThat(index.position(2)).isEqualTo(7);
+        assertThat(index.match(0)).isEqualTo(8);
+        assertThat(index.match(3)).isEqualTo(7);
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"{", "[}", "]", "\"a", "  "})
+    void indexInvalidStructure(String json) {
+        assertThatThrownBy(() -> StructuralIndex.build(ByteBuffer.wrap(json.getBytes(UTF_8))))
+                .isInstanceOf(ParsingException.class);
+    }
+
+    @Test
+    void vectorIndexMatchesScalarIndex() {
+        assumeTrue(StructuralIndex.isVectorApiAvailable());
+
+        var random = new Random(42);
+        for (var n = 0; n < 200; n++) {
+            var bytes = ("\uFEFF" + randomValue(random, 0)).getBytes(UTF_8);
+            var direct = ByteBuffer.allocateDirect(bytes.length).put(bytes).flip();
+
+            var scalar = StructuralIndex.build(ByteBuffer.wrap(bytes));
+            assertSameIndex(StructuralIndex.build(ByteBuffer.wrap(bytes), true), scalar);
+            assertSameIndex(StructuralIndex.build(direct, true), scalar);
+        }
+    }
+
+    private static void assertSameIndex(StructuralIndex actual, StructuralIndex expected) {
+        assertThat(actual.size()).isEqualTo(expected.size());
+        for (var i = 0; i < expected.size(); i++) {
+            assertThat(actual.position(i)).isEqualTo(expected.position(i));
+            assertThat(actual.match(i)).isEqualTo(expected.match(i));
+        }
+    }
+
+    private static String randomValue(Random random, int depth) {
+        var kind = depth > 4 ? 3 + random.nextInt(3) : random.nextInt(6);
+        var json = new StringBuilder();
+
+        switch (kind) {
+            case 0, 1 -> {
+                json.append(kind == 0 ? "{" : "[ ");
+                var size = random.nextInt(6);
+                for (var i = 0; i < size; i++) {
+                    if (i > 0)
+                        json.append(random.nextBoolean() ? "," : " ,\n");
+                    if (kind == 0)
+                        json.append(randomString(random)).append(':');
+                    json.append(randomValue(random, depth + 1));
+                }
+                json.append(kind == 0 ? "}" : "\t]");
+            }
+            case 2, 3 -> json.append(randomString(random));
+            case 4 -> json.append(random.nextInt(1000) - 500).append(random.nextBoolean() ? ".5e3" : "");
+            default -> json.append(random.nextBoolean() ? "true" : "null");
+        }
+
+        return json.toString();
+    }
+
+    private static String randomString(Random random) {
+        var parts = new String[]{"a", "\\\\", "\\\"", "{", "]", ",", ":", " ", "ع", "\\u0041", "x".repeat(70)};
+        var string = new StringBuilder("\"");
+        var size = random.nextInt(12);
+        for (var i = 0; i < size; i++)
+            string.append(parts[random.nextInt(parts.length)]);
+        return string.append('"').toString();
+    }
+}